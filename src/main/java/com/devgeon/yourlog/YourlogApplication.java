@@ -3,10 +3,12 @@ package com.devgeon.yourlog;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
 @RestController
 public class YourlogApplication {
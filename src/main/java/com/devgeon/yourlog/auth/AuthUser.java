@@ -0,0 +1,12 @@
+package com.devgeon.yourlog.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AuthUser {
+
+    private Long id;
+    private String email;
+}
@@ -0,0 +1,14 @@
+package com.devgeon.yourlog.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class IssuedToken {
+
+    private String token;
+    private Instant expiresAt;
+}
@@ -0,0 +1,12 @@
+package com.devgeon.yourlog.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TokenClaims {
+
+    private Long userId;
+    private String email;
+}
@@ -0,0 +1,110 @@
+package com.devgeon.yourlog.auth;
+
+import com.devgeon.yourlog.exception.UserAuthenticationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues and verifies signed access tokens.
+ * <p>
+ * A token is {@code base64url(userId:expiresAt:email) + "." + base64url(HMAC-SHA256)}, so verifying it
+ * costs one HMAC instead of a BCrypt comparison.
+ */
+@Component
+public class TokenProvider {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SecretKeySpec secretKey;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TokenProvider(@Value("${yourlog.auth.token-secret:}") String secret,
+                         @Value("${yourlog.auth.token-ttl:1h}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenProvider(String secret, Duration ttl, Clock clock) {
+        this.secretKey = new SecretKeySpec(resolveSecret(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public IssuedToken issue(Long userId, String email) {
+
+        Instant expiresAt = clock.instant().plus(ttl);
+        String payload = userId + ":" + expiresAt.getEpochSecond() + ":" + email;
+        String encodedPayload = encode(payload.getBytes(StandardCharsets.UTF_8));
+
+        return new IssuedToken(encodedPayload + "." + encode(sign(encodedPayload)), expiresAt);
+    }
+
+    public TokenClaims verify(String token) {
+
+        if (token == null) {
+            throw new UserAuthenticationException();
+        }
+        if (token.startsWith(BEARER_PREFIX)) {
+            token = token.substring(BEARER_PREFIX.length());
+        }
+
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            throw new UserAuthenticationException();
+        }
+
+        String encodedPayload = token.substring(0, separator);
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(encodedPayload), signature)) {
+                throw new UserAuthenticationException();
+            }
+
+            String[] fields = new String(Base64.getUrlDecoder().decode(encodedPayload), StandardCharsets.UTF_8).split(":", 3);
+            if (fields.length != 3 || clock.instant().getEpochSecond() >= Long.parseLong(fields[1])) {
+                throw new UserAuthenticationException();
+            }
+
+            return new TokenClaims(Long.parseLong(fields[0]), fields[2]);
+        } catch (IllegalArgumentException e) {
+            throw new UserAuthenticationException();
+        }
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secretKey);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // a random fallback would differ per instance and per restart, rejecting every token issued elsewhere as a 401
+    private static byte[] resolveSecret(String secret) {
+
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("yourlog.auth.token-secret is not set (YOURLOG_TOKEN_SECRET): every instance needs the same secret");
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
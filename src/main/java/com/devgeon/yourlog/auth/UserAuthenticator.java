@@ -0,0 +1,102 @@
+package com.devgeon.yourlog.auth;
+
+import com.devgeon.yourlog.domain.dto.UserCredentials;
+import com.devgeon.yourlog.domain.entity.UserRole;
+import com.devgeon.yourlog.exception.AdminRequiredException;
+import com.devgeon.yourlog.exception.UserAuthenticationException;
+import com.devgeon.yourlog.ratelimit.RequestRateLimiter;
+import com.devgeon.yourlog.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the caller of a write request from a token or from email and password.
+ * <p>
+ * Deliberately not transactional: the user lookup runs in its own short repository transaction, so the
+ * BCrypt comparison never holds a database connection. Callers open their transaction afterwards. The comparison
+ * itself runs on the {@link PasswordHasher} pool rather than on the request thread. Repeated logins by the same
+ * email are answered from {@link UserCredentialsCache} without a query, and password attempts per email are limited
+ * by {@link RequestRateLimiter} before either the lookup or the hashing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAuthenticator {
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final TokenProvider tokenProvider;
+    private final UserCredentialsCache userCredentialsCache;
+    private final RequestRateLimiter requestRateLimiter;
+
+    public AuthUser authenticate(String token, String email, String password) {
+
+        if (token != null) {
+            TokenClaims claims = tokenProvider.verify(token);
+            if (!userRepository.existsByIdAndDeletedAtIsNull(claims.getUserId())) {
+                throw new UserAuthenticationException();
+            }
+
+            return new AuthUser(claims.getUserId(), claims.getEmail());
+        }
+
+        if (email == null) {
+            throw new UserAuthenticationException();
+        }
+
+        requestRateLimiter.acquireForEmail(email);
+
+        UserCredentials credentials = userCredentialsCache.get(email, userRepository::findCredentialsByEmail)
+                .orElseThrow(UserAuthenticationException::new);
+        if (credentials.getDeletedAt() != null) {
+            throw new UserAuthenticationException();
+        }
+
+        if (!passwordHasher.matches(password, credentials.getPassword())) {
+            throw new UserAuthenticationException();
+        }
+
+        rehashIfOutdated(credentials, password);
+
+        return new AuthUser(credentials.getUserId(), credentials.getEmail());
+    }
+
+    /**
+     * Token only, like every admin endpoint. The role is read from the database on each call, so revoking it takes
+     * effect without waiting for the token to expire.
+     */
+    public AuthUser authenticateAdmin(String token) {
+
+        if (token == null) {
+            throw new UserAuthenticationException();
+        }
+
+        TokenClaims claims = tokenProvider.verify(token);
+        UserRole role = userRepository.findRoleById(claims.getUserId()).orElseThrow(UserAuthenticationException::new);
+        if (role != UserRole.ADMIN) {
+            throw new AdminRequiredException();
+        }
+
+        return new AuthUser(claims.getUserId(), claims.getEmail());
+    }
+
+    /**
+     * Upgrades a hash stored with an older strength. Login already succeeded at this point, so a failure here is
+     * only logged and the upgrade is retried on the next login.
+     */
+    private void rehashIfOutdated(UserCredentials credentials, String password) {
+
+        if (!passwordHasher.upgradeEncoding(credentials.getPassword())) {
+            return;
+        }
+
+        try {
+            userRepository.updatePassword(credentials.getUserId(), credentials.getPassword(), passwordHasher.encode(password));
+            userCredentialsCache.invalidate(credentials.getEmail());
+        } catch (RuntimeException e) {
+            log.warn("password rehash failed: userId={}", credentials.getUserId(), e);
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.devgeon.yourlog.auth;
+
+import com.devgeon.yourlog.domain.dto.UserCredentials;
+import com.devgeon.yourlog.domain.event.UserDeletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of {@link UserCredentials} by email, bounded by size and TTL.
+ * <p>
+ * Entries are dropped after a user deletion commits and after a password rehash. Other instances only see either
+ * change once the TTL expires, which bounds how long a deleted account can still log in elsewhere.
+ */
+@Component
+public class UserCredentialsCache {
+
+    private final Cache<String, UserCredentials> cache;
+
+    public UserCredentialsCache(MeterRegistry meterRegistry,
+                                @Value("${yourlog.cache.user.maximum-size:10000}") long maximumSize,
+                                @Value("${yourlog.cache.user.ttl:5m}") Duration ttl) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user");
+    }
+
+    /**
+     * Unknown emails are not cached, and neither are deleted users: their row stays until the purge finishes, and
+     * nothing invalidates the email then, so a cached deleted user would keep a re-joined account from logging in
+     * until the TTL.
+     */
+    public Optional<UserCredentials> get(String email, Function<String, Optional<UserCredentials>> loader) {
+
+        UserCredentials cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserCredentials> loaded = loader.apply(email);
+        loaded.filter(credentials -> credentials.getDeletedAt() == null)
+                .ifPresent(credentials -> cache.put(email, credentials));
+        return loaded;
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserDeleted(UserDeletedEvent event) {
+        cache.invalidate(event.getEmail());
+    }
+
+}
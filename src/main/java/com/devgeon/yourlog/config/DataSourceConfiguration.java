@@ -0,0 +1,93 @@
+package com.devgeon.yourlog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to a replica when {@code yourlog.datasource.replica.jdbc-url} is
+ * set, and everything to the primary otherwise.
+ * <p>
+ * The lazy proxy only fetches a physical connection at the first statement, after the transaction manager has
+ * marked the connection read-only, so the pool can be chosen per transaction. For the same read-only transactions
+ * Spring's Hibernate dialect already opens the session read-only with flush mode MANUAL: no snapshots are kept for
+ * dirty checking and nothing is flushed on commit.
+ * <p>
+ * The export reads from server-side cursors ({@code useCursorFetch}), which also makes every statement on the
+ * connection a server-side prepared one, so it has a small pool of its own on the replica, or on the primary without
+ * one, and the other pools keep their settings.
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty("yourlog.datasource.replica.jdbc-url")
+    @ConfigurationProperties("yourlog.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource exportDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                             @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                                             @Value("${yourlog.export.max-connections:2}") int maxConnections) {
+
+        HikariDataSource source = replicaDataSource.getIfAvailable(() -> primaryDataSource);
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("export");
+        if (source.getDriverClassName() != null) {
+            dataSource.setDriverClassName(source.getDriverClassName());
+        }
+        dataSource.setJdbcUrl(source.getJdbcUrl());
+        dataSource.setUsername(source.getUsername());
+        dataSource.setPassword(source.getPassword());
+        dataSource.getDataSourceProperties().putAll(source.getDataSourceProperties());
+        dataSource.addDataSourceProperty("useCursorFetch", "true");
+        dataSource.setReadOnly(true);
+        // each export holds its connection for the whole download; none are kept open in between
+        dataSource.setMaximumPoolSize(maxConnections);
+        dataSource.setMinimumIdle(0);
+
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                 @Qualifier("exportDataSource") DataSource exportDataSource) {
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ExportRoutingDataSource(primaryDataSource, exportDataSource));
+        replicaDataSource.ifAvailable(replica -> dataSource.setReadOnlyDataSource(new ExportRoutingDataSource(replica, exportDataSource)));
+
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.devgeon.yourlog.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections of the export pool to a thread inside {@link #route()}, and of the target otherwise.
+ * <p>
+ * Sits under the lazy connection proxy, so it is asked at the first statement of a transaction rather than at its
+ * start: entering the route at the top of a transactional method is enough to move that transaction to the export
+ * pool.
+ */
+public class ExportRoutingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<Boolean> EXPORTING = new ThreadLocal<>();
+
+    private final DataSource exportDataSource;
+
+    public ExportRoutingDataSource(DataSource targetDataSource, DataSource exportDataSource) {
+        super(targetDataSource);
+        this.exportDataSource = exportDataSource;
+    }
+
+    public static Route route() {
+        EXPORTING.set(Boolean.TRUE);
+        return EXPORTING::remove;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return EXPORTING.get() != null ? exportDataSource.getConnection() : super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return EXPORTING.get() != null ? exportDataSource.getConnection(username, password) : super.getConnection(username, password);
+    }
+
+    public interface Route extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.devgeon.yourlog.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on the services. Endpoints ({@code http.server.requests}), repositories
+ * ({@code spring.data.repository.invocations}) and the Hikari pools are instrumented by Spring Boot, and BCrypt by
+ * {@link com.devgeon.yourlog.auth.PasswordHasher}; percentiles for all of them are set in application.properties.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.devgeon.yourlog.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -18,9 +19,13 @@ public class SecurityConfiguration {
         return http.build();
     }
 
+    /**
+     * The work factor is tuned per deployment with the benchmark task; hashes stored with a lower strength are
+     * upgraded on the next successful login.
+     */
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder bCryptPasswordEncoder(@Value("${yourlog.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
 }
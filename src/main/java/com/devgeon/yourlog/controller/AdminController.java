@@ -0,0 +1,54 @@
+package com.devgeon.yourlog.controller;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.auth.UserAuthenticator;
+import com.devgeon.yourlog.domain.dto.ArticleImportResponse;
+import com.devgeon.yourlog.domain.dto.SearchRebuildResponse;
+import com.devgeon.yourlog.service.ArticleImportService;
+import com.devgeon.yourlog.service.ArticleSearchIndexer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/admin")
+public class AdminController {
+
+    private final ArticleImportService articleImportService;
+    private final ArticleSearchIndexer articleSearchIndexer;
+    private final UserAuthenticator userAuthenticator;
+
+    /**
+     * The body is the NDJSON stream itself, so only token authentication is possible here. The articles go to the
+     * calling admin's own account.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ArticleImportResponse> importArticles(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token, InputStream body) {
+
+        AuthUser authUser = userAuthenticator.authenticateAdmin(token);
+        ArticleImportResponse importResponse = articleImportService.importArticles(authUser, body);
+
+        return ResponseEntity.status(HttpStatus.OK).body(importResponse);
+    }
+
+    /**
+     * Rebuilds the search index of this instance from the database. A full table scan, so admins only.
+     */
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<SearchRebuildResponse> rebuildSearchIndex(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token) {
+
+        userAuthenticator.authenticateAdmin(token);
+        long indexedArticles = articleSearchIndexer.rebuild();
+
+        return ResponseEntity.status(HttpStatus.OK).body(new SearchRebuildResponse(indexedArticles));
+    }
+
+}
@@ -1,13 +1,19 @@
 package com.devgeon.yourlog.controller;
 
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.auth.UserAuthenticator;
 import com.devgeon.yourlog.domain.dto.*;
 import com.devgeon.yourlog.service.ArticleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -16,26 +22,68 @@ import org.springframework.web.bind.annotation.*;
 public class ArticleController {
 
     private final ArticleService articleService;
+    private final UserAuthenticator userAuthenticator;
+
+    @GetMapping
+    public ResponseEntity<CursorPage<ArticleSummaryDto>> list(@RequestParam(value = "before", required = false) Long before, @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        CursorPage<ArticleSummaryDto> page = articleService.list(before, size);
+
+        return ResponseEntity.status(HttpStatus.OK).body(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<ArticleSummaryDto>> search(@RequestParam("q") String query, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        SearchPage<ArticleSummaryDto> page = articleService.search(query, after, size);
+
+        return ResponseEntity.status(HttpStatus.OK).body(page);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ArticleTitleDto>> suggest(@RequestParam("prefix") String prefix, @RequestParam(value = "size", defaultValue = "10") int size) {
+
+        List<ArticleTitleDto> suggestions = articleService.suggest(prefix, size);
+
+        return ResponseEntity.status(HttpStatus.OK).body(suggestions);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ArticleDetailDto> read(@PathVariable("id") Long id, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "size", defaultValue = "20") int size, WebRequest webRequest) {
+
+        // sets ETag and Last-Modified on the response either way; true means 304 has been prepared
+        ArticleVersion version = articleService.version(id);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+
+        ArticleDetailDto articleDetailDto = articleService.read(id, after, size);
+
+        return ResponseEntity.status(HttpStatus.OK).body(articleDetailDto);
+    }
 
     @PostMapping
-    public ResponseEntity<ArticleDto> write(@RequestBody @Validated ArticleWriteRequest writeRequest) {
+    public ResponseEntity<ArticleDto> write(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token, @RequestBody @Validated ArticleWriteRequest writeRequest) {
 
-        ArticleDto articleDto = articleService.write(writeRequest);
+        AuthUser authUser = userAuthenticator.authenticate(token, writeRequest.getEmail(), writeRequest.getPassword());
+        ArticleDto articleDto = articleService.write(authUser, writeRequest);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(articleDto);
     }
 
     @PostMapping("/{id}")
-    public ResponseEntity<ArticleDto> edit(@PathVariable("id") Long id, @RequestBody @Validated ArticleEditRequest editRequest) {
+    public ResponseEntity<ArticleDto> edit(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token, @PathVariable("id") Long id, @RequestBody @Validated ArticleEditRequest editRequest) {
 
+        userAuthenticator.authenticate(token, editRequest.getEmail(), editRequest.getPassword());
         ArticleDto articleDto = articleService.edit(id, editRequest);
 
         return ResponseEntity.status(HttpStatus.OK).body(articleDto);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<ArticleDeleteResponse> delete(@PathVariable("id") Long id, @RequestBody @Validated ArticleDeleteRequest deleteRequest) {
+    public ResponseEntity<ArticleDeleteResponse> delete(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token, @PathVariable("id") Long id, @RequestBody @Validated ArticleDeleteRequest deleteRequest) {
 
+        userAuthenticator.authenticate(token, deleteRequest.getEmail(), deleteRequest.getPassword());
         ArticleDeleteResponse deleteResponse = articleService.delete(id, deleteRequest);
 
         return ResponseEntity.status(HttpStatus.OK).body(deleteResponse);
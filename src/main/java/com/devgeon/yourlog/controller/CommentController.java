@@ -1,12 +1,17 @@
 package com.devgeon.yourlog.controller;
 
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.auth.UserAuthenticator;
 import com.devgeon.yourlog.domain.dto.*;
+import com.devgeon.yourlog.service.ArticleService;
 import com.devgeon.yourlog.service.CommentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequiredArgsConstructor
@@ -14,26 +19,44 @@ import org.springframework.web.bind.annotation.*;
 public class CommentController {
 
     private final CommentService commentService;
+    private final ArticleService articleService;
+    private final UserAuthenticator userAuthenticator;
+
+    @GetMapping
+    public ResponseEntity<CursorPage<CommentDto>> list(@PathVariable("article_id") Long articleId, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "size", defaultValue = "20") int size, WebRequest webRequest) {
+
+        ArticleVersion version = articleService.version(articleId);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+
+        CursorPage<CommentDto> page = commentService.list(articleId, after, size);
+
+        return ResponseEntity.status(HttpStatus.OK).body(page);
+    }
 
     @PostMapping
-    public ResponseEntity<CommentDto> write(@PathVariable("article_id") Long articleId, @RequestBody @Validated CommentWriteRequest writeRequest) {
+    public ResponseEntity<CommentDto> write(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token, @PathVariable("article_id") Long articleId, @RequestBody @Validated CommentWriteRequest writeRequest) {
 
-        CommentDto commentDto = commentService.write(articleId, writeRequest);
+        AuthUser authUser = userAuthenticator.authenticate(token, writeRequest.getEmail(), writeRequest.getPassword());
+        CommentDto commentDto = commentService.write(authUser, articleId, writeRequest);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(commentDto);
     }
 
     @PostMapping("/{comment_id}")
-    public ResponseEntity<CommentDto> edit(@PathVariable("comment_id") Long commentId, @RequestBody @Validated CommentEditRequest editRequest) {
+    public ResponseEntity<CommentDto> edit(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token, @PathVariable("comment_id") Long commentId, @RequestBody @Validated CommentEditRequest editRequest) {
 
+        userAuthenticator.authenticate(token, editRequest.getEmail(), editRequest.getPassword());
         CommentDto commentDto = commentService.edit(commentId, editRequest);
 
         return ResponseEntity.status(HttpStatus.OK).body(commentDto);
     }
 
     @DeleteMapping("/{comment_id}")
-    public ResponseEntity<CommentDeleteResponse> delete(@PathVariable("comment_id") Long commentId, @RequestBody @Validated CommentDeleteRequest deleteRequest) {
+    public ResponseEntity<CommentDeleteResponse> delete(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token, @PathVariable("comment_id") Long commentId, @RequestBody @Validated CommentDeleteRequest deleteRequest) {
 
+        userAuthenticator.authenticate(token, deleteRequest.getEmail(), deleteRequest.getPassword());
         CommentDeleteResponse deleteResponse = commentService.delete(commentId, deleteRequest);
 
         return ResponseEntity.status(HttpStatus.OK).body(deleteResponse);
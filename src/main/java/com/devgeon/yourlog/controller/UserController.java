@@ -1,16 +1,33 @@
 package com.devgeon.yourlog.controller;
 
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.auth.UserAuthenticator;
+import com.devgeon.yourlog.domain.dto.ArticleSummaryDto;
+import com.devgeon.yourlog.domain.dto.CursorPage;
+import com.devgeon.yourlog.domain.dto.PurgeJobDto;
 import com.devgeon.yourlog.domain.dto.UserDeleteRequest;
 import com.devgeon.yourlog.domain.dto.UserDeleteResponse;
 import com.devgeon.yourlog.domain.dto.UserDto;
 import com.devgeon.yourlog.domain.dto.UserJoinRequest;
+import com.devgeon.yourlog.domain.dto.UserLoginRequest;
+import com.devgeon.yourlog.domain.dto.UserLoginResponse;
+import com.devgeon.yourlog.service.ArticleExportService;
+import com.devgeon.yourlog.service.ArticleService;
+import com.devgeon.yourlog.service.UserPurgeService;
 import com.devgeon.yourlog.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -19,6 +36,10 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final ArticleService articleService;
+    private final ArticleExportService articleExportService;
+    private final UserPurgeService userPurgeService;
+    private final UserAuthenticator userAuthenticator;
 
     @PostMapping
     public ResponseEntity<UserDto> join(@RequestBody @Validated UserJoinRequest joinRequest) {
@@ -28,12 +49,68 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(userDto);
     }
 
+    @PostMapping("/login")
+    public ResponseEntity<UserLoginResponse> login(@RequestBody UserLoginRequest loginRequest) {
+
+        UserLoginResponse loginResponse = userService.login(loginRequest);
+
+        return ResponseEntity.status(HttpStatus.OK).body(loginResponse);
+    }
+
     @DeleteMapping
-    public ResponseEntity<UserDeleteResponse> delete(@RequestBody @Validated UserDeleteRequest deleteRequest) {
+    public ResponseEntity<UserDeleteResponse> delete(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token, @RequestBody @Validated UserDeleteRequest deleteRequest) {
 
-        UserDeleteResponse deleteResponse = userService.delete(deleteRequest);
+        AuthUser authUser = userAuthenticator.authenticate(token, deleteRequest.getEmail(), deleteRequest.getPassword());
+        UserDeleteResponse deleteResponse = userService.delete(authUser, deleteRequest);
 
         return ResponseEntity.status(HttpStatus.OK).body(deleteResponse);
     }
 
+    @DeleteMapping(params = "async=true")
+    public ResponseEntity<PurgeJobDto> deleteAsync(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token, @RequestBody @Validated UserDeleteRequest deleteRequest) {
+
+        AuthUser authUser = userAuthenticator.authenticate(token, deleteRequest.getEmail(), deleteRequest.getPassword());
+        PurgeJobDto purgeJobDto = userPurgeService.start(authUser);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/v1/user/purge/" + purgeJobDto.getJobId()))
+                .body(purgeJobDto);
+    }
+
+    @GetMapping("/{email}/article")
+    public ResponseEntity<CursorPage<ArticleSummaryDto>> listArticles(@PathVariable("email") String email, @RequestParam(value = "before", required = false) Long before, @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        CursorPage<ArticleSummaryDto> page = articleService.listByAuthor(email, before, size);
+
+        return ResponseEntity.status(HttpStatus.OK).body(page);
+    }
+
+    /**
+     * A gzip-compressed NDJSON download, compressed and written on an async thread as the client reads it. A GET has
+     * no body, so only token authentication is possible.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String token) {
+
+        AuthUser authUser = userAuthenticator.authenticate(token, null, null);
+        StreamingResponseBody body = out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, 8192);
+            articleExportService.export(authUser, gzip);
+            gzip.finish();
+        };
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("yourlog-export.ndjson.gz").build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/purge/{job_id}")
+    public ResponseEntity<PurgeJobDto> purgeStatus(@PathVariable("job_id") String jobId) {
+
+        PurgeJobDto purgeJobDto = userPurgeService.status(jobId);
+
+        return ResponseEntity.status(HttpStatus.OK).body(purgeJobDto);
+    }
+
 }
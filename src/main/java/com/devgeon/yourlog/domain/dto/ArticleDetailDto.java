@@ -0,0 +1,18 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class ArticleDetailDto {
+
+    private Long articleId;
+    private String email;
+    private String title;
+    private String content;
+    private long views;
+    private CursorPage<CommentDto> comments;
+}
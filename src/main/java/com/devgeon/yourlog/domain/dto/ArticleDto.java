@@ -13,4 +13,5 @@ public class ArticleDto {
     private String email;
     private String title;
     private String content;
+    private long views;
 }
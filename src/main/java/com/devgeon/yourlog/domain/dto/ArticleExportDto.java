@@ -0,0 +1,18 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class ArticleExportDto {
+
+    private Long articleId;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+}
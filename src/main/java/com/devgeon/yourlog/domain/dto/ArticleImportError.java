@@ -0,0 +1,14 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class ArticleImportError {
+
+    private long line;
+    private String message;
+}
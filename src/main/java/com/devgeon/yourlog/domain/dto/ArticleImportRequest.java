@@ -0,0 +1,32 @@
+package com.devgeon.yourlog.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One line of an NDJSON import: an article with its comments.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class ArticleImportRequest {
+
+    @NotNull
+    @NotEmpty
+    @NotBlank
+    private String title;
+
+    @NotNull
+    @NotEmpty
+    @NotBlank
+    private String content;
+
+    private List<@NotNull @Valid CommentImportRequest> comments;
+}
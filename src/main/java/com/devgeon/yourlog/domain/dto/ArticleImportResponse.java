@@ -0,0 +1,20 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class ArticleImportResponse {
+
+    private long importedArticles;
+    private long importedComments;
+    private long failedLines;
+    private List<ArticleImportError> errors;
+    private long elapsedMillis;
+    private long articlesPerSecond;
+}
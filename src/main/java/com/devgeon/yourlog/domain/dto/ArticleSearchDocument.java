@@ -0,0 +1,19 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * What the search index stores for an article.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class ArticleSearchDocument {
+
+    private Long articleId;
+    private Long userId;
+    private String title;
+    private String content;
+}
@@ -0,0 +1,19 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class ArticleSummaryDto {
+
+    private Long articleId;
+    private String email;
+    private String title;
+    private LocalDateTime createdAt;
+    private long commentCount;
+}
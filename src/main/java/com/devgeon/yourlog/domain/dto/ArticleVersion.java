@@ -0,0 +1,40 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * What a client's cached copy of an article or its comments is compared against. The comment count is part of the
+ * ETag because deleting a comment does not move any updatedAt; Last-Modified cannot see such deletions.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class ArticleVersion {
+
+    private Long articleId;
+    private LocalDateTime updatedAt;
+    private Long commentCount;
+    private LocalDateTime commentUpdatedAt;
+
+    public String getETag() {
+        return "\"" + articleId + "-" + micros(updatedAt) + "-" + commentCount + "-" + micros(commentUpdatedAt) + "\"";
+    }
+
+    public long getLastModified() {
+        LocalDateTime latest = commentUpdatedAt != null && updatedAt != null && commentUpdatedAt.isAfter(updatedAt)
+                ? commentUpdatedAt : updatedAt;
+        return latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    private static long micros(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        return Math.addExact(Math.multiplyExact(time.atZone(ZoneId.systemDefault()).toEpochSecond(), 1_000_000L), time.getNano() / 1_000);
+    }
+}
@@ -0,0 +1,19 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class CommentExportDto {
+
+    private Long articleId;
+    private Long commentId;
+    private String email;
+    private String content;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.devgeon.yourlog.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class CommentImportRequest {
+
+    @NotNull
+    @NotEmpty
+    @NotBlank
+    private String content;
+}
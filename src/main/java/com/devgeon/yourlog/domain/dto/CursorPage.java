@@ -0,0 +1,41 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is passed back as the cursor parameter to fetch the
+ * following page and is {@code null} on the last page.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private Long nextCursor;
+
+    public static int clampSize(int size) {
+        return Math.clamp(size, 1, MAX_SIZE);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code pageSize + 1}; the extra row only signals that another
+     * page exists and is dropped.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, Long> cursor) {
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<T> page = rows.subList(0, pageSize);
+        return new CursorPage<>(page, cursor.apply(page.getLast()));
+    }
+}
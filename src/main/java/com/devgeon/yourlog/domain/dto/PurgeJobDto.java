@@ -0,0 +1,21 @@
+package com.devgeon.yourlog.domain.dto;
+
+import com.devgeon.yourlog.domain.entity.PurgeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class PurgeJobDto {
+
+    private String jobId;
+    private PurgeStatus status;
+    private long deletedComments;
+    private long deletedArticles;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
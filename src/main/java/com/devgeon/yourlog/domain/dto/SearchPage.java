@@ -0,0 +1,21 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. Like {@link CursorPage}, {@code nextCursor} is passed back to fetch the
+ * following page and is {@code null} on the last page, but it is an opaque string encoding the score and id of the
+ * last hit.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class SearchPage<T> {
+
+    private List<T> content;
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns password authentication needs; cached by {@link com.devgeon.yourlog.auth.UserCredentialsCache}.
+ */
+@AllArgsConstructor
+@Getter
+public class UserCredentials {
+
+    private final Long userId;
+    private final String email;
+    private final String password;
+    private final LocalDateTime deletedAt;
+}
@@ -0,0 +1,17 @@
+package com.devgeon.yourlog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class UserLoginResponse {
+
+    private String email;
+    private String token;
+    private Instant expiresAt;
+}
@@ -1,5 +1,6 @@
 package com.devgeon.yourlog.domain.entity;
 
+import com.devgeon.yourlog.domain.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = @Index(name = "idx_article_user_id_article_id", columnList = "user_id, article_id"))
+@NamedEntityGraph(name = "Article.user", attributeNodes = @NamedAttributeNode("user"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,20 +17,30 @@ import lombok.NoArgsConstructor;
 public class Article extends BaseDateTime {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "article_id", nullable = false, updatable = false, unique = true)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false)
+    // not selected when the entity is loaded (bytecode enhancement), only on first access; reads use projections
+    @Basic(fetch = FetchType.LAZY)
+    @Column(nullable = false, columnDefinition = "mediumtext")
     private String content;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, updatable = false)
     private User user;
 
+    // never written through the entity, so a stale copy cannot overwrite the counter; see ArticleViewCounter
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long views;
+
+    // set on insert only, then changed by atomic updates in ArticleRepository
+    @Column(nullable = false, updatable = false)
+    private long commentCount;
+
     public void update(String title, String content) {
         this.title = title;
         this.content = content;
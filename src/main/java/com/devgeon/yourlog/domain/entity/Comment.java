@@ -1,5 +1,6 @@
 package com.devgeon.yourlog.domain.entity;
 
+import com.devgeon.yourlog.domain.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_article_id_comment_id", columnList = "article_id, comment_id"),
+        @Index(name = "idx_comment_article_id_updated_at", columnList = "article_id, updated_at")
+})
+@NamedEntityGraph(name = "Comment.user", attributeNodes = @NamedAttributeNode("user"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,18 +20,18 @@ import lombok.NoArgsConstructor;
 public class Comment extends BaseDateTime {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "comment_id", nullable = false, updatable = false, unique = true)
     private Long id;
 
-    @Column(nullable = false)
+    @Column(nullable = false, columnDefinition = "text")
     private String content;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "article_id", nullable = false, updatable = false)
     private Article article;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, updatable = false)
     private User user;
 
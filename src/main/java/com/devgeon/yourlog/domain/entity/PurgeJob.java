@@ -0,0 +1,80 @@
+package com.devgeon.yourlog.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Progress of removing a deleted user's comments, articles and finally the user row. Every chunk commits together
+ * with its counters, so the job picks up where it stopped after a restart.
+ */
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class PurgeJob extends BaseDateTime {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "purge_job_id", nullable = false, updatable = false, unique = true)
+    private Long id;
+
+    // the id the status endpoint is addressed by: 128 random bits, so jobs cannot be enumerated like the sequential id
+    @Column(nullable = false, updatable = false, unique = true, length = 32)
+    private String publicId;
+
+    @Column(nullable = false, updatable = false, unique = true)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false)
+    private PurgeStatus status;
+
+    @Column(nullable = false)
+    private long deletedComments;
+
+    @Column(nullable = false)
+    private long deletedArticles;
+
+    private LocalDateTime completedAt;
+
+    public static PurgeJob start(Long userId) {
+        return PurgeJob.builder()
+                .publicId(newPublicId())
+                .userId(userId)
+                .status(PurgeStatus.IN_PROGRESS)
+                .build();
+    }
+
+    private static String newPublicId() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    public void addDeletedComments(int count) {
+        this.deletedComments += count;
+    }
+
+    public void addDeletedArticles(int count) {
+        this.deletedArticles += count;
+    }
+
+    public void complete() {
+        this.status = PurgeStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.devgeon.yourlog.domain.entity;
+
+public enum PurgeStatus {
+
+    IN_PROGRESS,
+    COMPLETED
+}
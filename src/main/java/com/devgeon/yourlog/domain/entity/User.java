@@ -1,10 +1,15 @@
 package com.devgeon.yourlog.domain.entity;
 
+import com.devgeon.yourlog.domain.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Builder
@@ -14,7 +19,7 @@ import lombok.NoArgsConstructor;
 public class User extends BaseDateTime {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "user_id", nullable = false, updatable = false, unique = true)
     private Long id;
 
@@ -27,4 +32,18 @@ public class User extends BaseDateTime {
     @Column(nullable = false)
     private String password;
 
+    // granted by hand in the database; checked on every admin request, not carried in the token
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false)
+    @Builder.Default
+    private UserRole role = UserRole.USER;
+
+    // set when the account is deleted; the row stays until the purge job has removed its articles and comments
+    private LocalDateTime deletedAt;
+
+    public void markDeleted() {
+        this.deletedAt = LocalDateTime.now();
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.devgeon.yourlog.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published inside the transaction that writes, edits or deletes an article; listeners that act on it after commit never
+ * see a change that was rolled back.
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleChangedEvent {
+
+    private final Long articleId;
+}
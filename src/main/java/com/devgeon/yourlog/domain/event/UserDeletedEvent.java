@@ -0,0 +1,15 @@
+package com.devgeon.yourlog.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user is deleted or marked deleted; all of their articles disappear with it.
+ */
+@Getter
+@AllArgsConstructor
+public class UserDeletedEvent {
+
+    private final Long userId;
+    private final String email;
+}
@@ -0,0 +1,80 @@
+package com.devgeon.yourlog.domain.id;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Time-ordered 64-bit ids: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node id and a 12-bit sequence
+ * within the millisecond. Ids from one node are strictly increasing; ids from different nodes never collide as long
+ * as every node has its own node id.
+ */
+public class Snowflake {
+
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // tolerated backwards clock step (e.g. an NTP correction) before giving up
+    private static final long MAX_CLOCK_BACKWARDS_MILLIS = 100;
+
+    private final long nodeId;
+    private final Clock clock;
+
+    private long lastMillis = -1;
+    private long sequence;
+
+    public Snowflake(long nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    Snowflake(long nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public synchronized long nextId() {
+
+        long millis = currentMillis();
+
+        if (millis < lastMillis) {
+            if (lastMillis - millis > MAX_CLOCK_BACKWARDS_MILLIS) {
+                throw new IllegalStateException("clock moved backwards by " + (lastMillis - millis) + "ms");
+            }
+            millis = waitUntil(lastMillis);
+        }
+
+        if (millis == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 4096 ids in this millisecond already
+                millis = waitUntil(lastMillis + 1);
+            }
+        } else {
+            sequence = 0;
+        }
+
+        lastMillis = millis;
+
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private long waitUntil(long targetMillis) {
+        long millis = currentMillis();
+        while (millis < targetMillis) {
+            Thread.onSpinWait();
+            millis = currentMillis();
+        }
+        return millis;
+    }
+
+    private long currentMillis() {
+        return clock.millis() - EPOCH.toEpochMilli();
+    }
+
+}
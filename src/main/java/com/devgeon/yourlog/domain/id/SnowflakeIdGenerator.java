@@ -0,0 +1,53 @@
+package com.devgeon.yourlog.domain.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate side of {@link SnowflakeId}. The node id comes from the {@value #NODE_ID_SETTING} Hibernate setting
+ * ({@code spring.jpa.properties.yourlog.id.node-id}) and must differ between application instances. There is no
+ * default: a missing node id fails the startup instead of letting instances collide on node 0.
+ */
+public class SnowflakeIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String NODE_ID_SETTING = "yourlog.id.node-id";
+
+    // one sequence per node id, shared by every entity type
+    private static final Map<Long, Snowflake> SNOWFLAKES = new ConcurrentHashMap<>();
+
+    private final Snowflake snowflake;
+
+    public SnowflakeIdGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+
+        String nodeIdSetting = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSetting(NODE_ID_SETTING, StandardConverters.STRING);
+        if (nodeIdSetting == null || nodeIdSetting.isBlank()) {
+            throw new IllegalStateException(NODE_ID_SETTING + " is not set (YOURLOG_NODE_ID): every instance needs its own node id");
+        }
+        long nodeId = Long.parseLong(nodeIdSetting.trim());
+
+        this.snowflake = SNOWFLAKES.computeIfAbsent(nodeId, Snowflake::new);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return snowflake.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.devgeon.yourlog.exception;
+
+public class AdminRequiredException extends RuntimeException {
+}
@@ -1,8 +1,19 @@
 package com.devgeon.yourlog.exhandler;
 
+import com.devgeon.yourlog.exception.AdminRequiredException;
+import com.devgeon.yourlog.exception.ArticleNotFoundException;
+import com.devgeon.yourlog.exception.CommentNotFoundException;
+import com.devgeon.yourlog.exception.InvalidCursorException;
+import com.devgeon.yourlog.exception.PasswordHashRejectedException;
+import com.devgeon.yourlog.exception.PurgeJobNotFoundException;
+import com.devgeon.yourlog.exception.RateLimitExceededException;
+import com.devgeon.yourlog.exception.UserAuthenticationException;
+import com.devgeon.yourlog.exception.UserNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +33,52 @@ public class ExceptionController {
         return new ErrorResult(LocalDateTime.now(), "BAD_REQUEST", e.getMessage(), request.getRequestURI());
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public ErrorResult invalidCursorExHandle(InvalidCursorException e, HttpServletRequest request) {
+        log.info("invalid cursor: {}", request.getRequestURI());
+        return new ErrorResult(LocalDateTime.now(), "BAD_REQUEST", "invalid cursor", request.getRequestURI());
+    }
+
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    @ExceptionHandler(UserAuthenticationException.class)
+    public ErrorResult authenticationExHandle(UserAuthenticationException e, HttpServletRequest request) {
+        log.info("authentication failed: {}", request.getRequestURI());
+        return new ErrorResult(LocalDateTime.now(), "UNAUTHORIZED", "authentication failed", request.getRequestURI());
+    }
+
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    @ExceptionHandler(AdminRequiredException.class)
+    public ErrorResult adminRequiredExHandle(AdminRequiredException e, HttpServletRequest request) {
+        log.warn("admin required: {}", request.getRequestURI());
+        return new ErrorResult(LocalDateTime.now(), "FORBIDDEN", "admin required", request.getRequestURI());
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler({ArticleNotFoundException.class, CommentNotFoundException.class, PurgeJobNotFoundException.class,
+            UserNotFoundException.class})
+    public ErrorResult notFoundExHandle(RuntimeException e, HttpServletRequest request) {
+        log.info("not found: {}", request.getRequestURI());
+        return new ErrorResult(LocalDateTime.now(), "NOT_FOUND", "resource not found", request.getRequestURI());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(PasswordHashRejectedException.class)
+    public ErrorResult passwordHashRejectedExHandle(PasswordHashRejectedException e, HttpServletRequest request, HttpServletResponse response) {
+        log.warn("password hash rejected: {}", request.getRequestURI());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return new ErrorResult(LocalDateTime.now(), "SERVICE_UNAVAILABLE", "too many password hash requests", request.getRequestURI());
+    }
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ErrorResult rateLimitExceededExHandle(RateLimitExceededException e, HttpServletRequest request, HttpServletResponse response) {
+        log.info("rate limited: {}", request.getRequestURI());
+        // whole seconds, rounded up so the client does not come back too early
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000)));
+        return new ErrorResult(LocalDateTime.now(), "TOO_MANY_REQUESTS", "too many requests", request.getRequestURI());
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler
     public ErrorResult validationExHandle(Exception e, HttpServletRequest request) {
@@ -0,0 +1,26 @@
+package com.devgeon.yourlog.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Takes a token from the client address's bucket before the handler runs, so a throttled request costs no hashing
+ * and no SQL. The address is the servlet remote address; behind a proxy, set {@code server.forward-headers-strategy}
+ * so it is the client's.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RequestRateLimiter requestRateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        requestRateLimiter.acquireForAddress(request.getRemoteAddr());
+        return true;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.devgeon.yourlog.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets by key: each holds {@code capacity} tokens and gains one every {@code refill}.
+ * <p>
+ * A bucket is a single {@link AtomicLong} holding the time at which it will be full again (the generic cell rate
+ * algorithm), so taking a token is one compare-and-set without locks, and there is no refill task. A bucket idle
+ * long enough to be full is the same as a new one, so it is evicted after that long; evictions run on Caffeine's
+ * scheduler and the number of keys is bounded by {@code maximumKeys}.
+ */
+public class RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final Ticker ticker;
+    private final long refillNanos;
+    private final long capacityNanos;
+
+    public RateLimiter(int capacity, Duration refill, long maximumKeys, Ticker ticker) {
+
+        this.ticker = ticker;
+        this.refillNanos = refill.toNanos();
+        this.capacityNanos = refillNanos * capacity;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(capacityNanos))
+                .scheduler(Scheduler.systemScheduler())
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * @return zero when a token was taken, otherwise how long until the next one
+     */
+    public Duration tryAcquire(String key) {
+
+        long now = ticker.read();
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + refillNanos;
+
+            long excess = next - now - capacityNanos;
+            if (excess > 0) {
+                return Duration.ofNanos(excess);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+}
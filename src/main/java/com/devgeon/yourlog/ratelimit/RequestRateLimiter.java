@@ -0,0 +1,64 @@
+package com.devgeon.yourlog.ratelimit;
+
+import com.devgeon.yourlog.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Separate buckets per client address, taken by {@link RateLimitInterceptor} before the request reaches a
+ * controller, and per email, taken by {@link com.devgeon.yourlog.auth.UserAuthenticator} before the credentials are
+ * looked up or hashed. Either bucket running dry answers 429.
+ */
+@Component
+public class RequestRateLimiter {
+
+    private final RateLimiter addressLimiter;
+    private final RateLimiter emailLimiter;
+    private final Counter addressRejected;
+    private final Counter emailRejected;
+
+    public RequestRateLimiter(MeterRegistry meterRegistry,
+                              @Value("${yourlog.ratelimit.address.capacity:100}") int addressCapacity,
+                              @Value("${yourlog.ratelimit.address.refill:50ms}") Duration addressRefill,
+                              @Value("${yourlog.ratelimit.email.capacity:10}") int emailCapacity,
+                              @Value("${yourlog.ratelimit.email.refill:6s}") Duration emailRefill,
+                              @Value("${yourlog.ratelimit.maximum-keys:100000}") long maximumKeys) {
+
+        this.addressLimiter = new RateLimiter(addressCapacity, addressRefill, maximumKeys, Ticker.systemTicker());
+        this.emailLimiter = new RateLimiter(emailCapacity, emailRefill, maximumKeys, Ticker.systemTicker());
+        this.addressRejected = rejectedCounter(meterRegistry, "address");
+        this.emailRejected = rejectedCounter(meterRegistry, "email");
+    }
+
+    public void acquireForAddress(String address) {
+        acquire(addressLimiter, address, addressRejected);
+    }
+
+    // case-insensitive, like the email lookup itself
+    public void acquireForEmail(String email) {
+        acquire(emailLimiter, email.toLowerCase(Locale.ROOT), emailRejected);
+    }
+
+    private static void acquire(RateLimiter limiter, String key, Counter rejected) {
+
+        Duration retryAfter = limiter.tryAcquire(key);
+        if (!retryAfter.isZero()) {
+            rejected.increment();
+            throw new RateLimitExceededException(retryAfter);
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("yourlog.ratelimit.rejected")
+                .description("Requests answered 429")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+}
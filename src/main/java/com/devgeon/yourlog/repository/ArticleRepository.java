@@ -1,14 +1,161 @@
 package com.devgeon.yourlog.repository;
 
+import com.devgeon.yourlog.domain.dto.ArticleDto;
+import com.devgeon.yourlog.domain.dto.ArticleExportDto;
+import com.devgeon.yourlog.domain.dto.ArticleSearchDocument;
+import com.devgeon.yourlog.domain.dto.ArticleSummaryDto;
+import com.devgeon.yourlog.domain.dto.ArticleTitleDto;
+import com.devgeon.yourlog.domain.dto.ArticleVersion;
 import com.devgeon.yourlog.domain.entity.Article;
-import com.devgeon.yourlog.domain.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-@Transactional
+@Transactional(readOnly = true)
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
-    void deleteByUser(User user);
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Article a where a.user.id = :userId")
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+
+    @Query("select a.id from Article a where a.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    // Comment counts are changed in place by single statements, so concurrent comment writes never lose an update.
+
+    /**
+     * @return 0 when the article does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("update Article a set a.commentCount = a.commentCount + :delta where a.id = :id")
+    int addCommentCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Runs before the user's comments are bulk deleted.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Article a set a.commentCount = a.commentCount - " +
+            "(select count(c) from Comment c where c.article = a and c.user.id = :userId) " +
+            "where a.id in (select c.article.id from Comment c where c.user.id = :userId)")
+    int decreaseCommentCountsByCommentUserId(@Param("userId") Long userId);
+
+    /**
+     * Runs before the comments are deleted; for the purge job, so the persistence context is not cleared.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Article a set a.commentCount = a.commentCount - " +
+            "(select count(c) from Comment c where c.article = a and c.id in :commentIds) " +
+            "where a.id in (select c.article.id from Comment c where c.id in :commentIds)")
+    int decreaseCommentCountsByCommentIdIn(@Param("commentIds") List<Long> commentIds);
+
+    @Query("select a.id from Article a where a.id > :after order by a.id asc")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Recounts the articles with ids in [{@code from}, {@code to}] on the (article_id, comment_id) index and writes
+     * only the counts that drifted.
+     *
+     * @return the number of articles repaired
+     */
+    @Transactional
+    @Modifying
+    @Query("update Article a set a.commentCount = (select count(c) from Comment c where c.article = a) " +
+            "where a.id between :from and :to and a.commentCount <> (select count(c) from Comment c where c.article = a)")
+    int reconcileCommentCounts(@Param("from") Long from, @Param("to") Long to);
+
+    /**
+     * Reads no content: the article row by primary key plus count and max(updated_at) of its comments, which the
+     * (article_id, updated_at) index answers on its own.
+     * <p>
+     * Decides whether a client's copy is still current, so it reads the primary: a lagging replica would answer 304
+     * to the old {@code If-None-Match} right after an edit.
+     */
+    @Transactional
+    @Query("select new com.devgeon.yourlog.domain.dto.ArticleVersion(a.id, a.updatedAt, count(c.id), max(c.updatedAt)) " +
+            "from Article a join a.user u left join Comment c on c.article = a " +
+            "where a.id = :id and u.deletedAt is null group by a.id, a.updatedAt")
+    Optional<ArticleVersion> findVersionById(@Param("id") Long id);
+
+    @EntityGraph("Article.user")
+    Optional<Article> findWithUserById(Long id);
+
+    /**
+     * Walks the primary key backwards from {@code before}, so every page is an index range scan no matter how deep
+     * the cursor is. Content is not selected.
+     */
+    @Query("select new com.devgeon.yourlog.domain.dto.ArticleSummaryDto(a.id, u.email, a.title, a.createdAt, a.commentCount) " +
+            "from Article a join a.user u where a.id < :before and u.deletedAt is null order by a.id desc")
+    List<ArticleSummaryDto> findSummariesBefore(@Param("before") Long before, Limit limit);
+
+    /**
+     * One author's articles, newest first: the user row by its unique email, then a backward range scan on the
+     * (user_id, article_id) index. Content is not selected.
+     */
+    @Query("select new com.devgeon.yourlog.domain.dto.ArticleSummaryDto(a.id, u.email, a.title, a.createdAt, a.commentCount) " +
+            "from Article a join a.user u where u.email = :email and u.deletedAt is null and a.id < :before " +
+            "order by a.id desc")
+    List<ArticleSummaryDto> findSummariesByUserEmailBefore(@Param("email") String email, @Param("before") Long before, Limit limit);
+
+    /**
+     * Fills {@code ArticleCache}, so it reads the primary: an entry loaded from a lagging replica right after an edit
+     * would keep the old article until the TTL, long after the replica has caught up.
+     */
+    @Transactional
+    @Query("select new com.devgeon.yourlog.domain.dto.ArticleDto(a.id, u.email, a.title, a.content, a.views) " +
+            "from Article a join a.user u where a.id = :id and u.deletedAt is null")
+    Optional<ArticleDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Search hits in no particular order; the caller restores the ranking.
+     */
+    @Query("select new com.devgeon.yourlog.domain.dto.ArticleSummaryDto(a.id, u.email, a.title, a.createdAt, a.commentCount) " +
+            "from Article a join a.user u where a.id in :ids and u.deletedAt is null")
+    List<ArticleSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Re-read after a commit to update the search index, so it reads the primary: a lagging replica would return the
+     * old content, or no row at all for a new article, which the index would then keep.
+     */
+    @Transactional
+    @Query("select new com.devgeon.yourlog.domain.dto.ArticleSearchDocument(a.id, u.id, a.title, a.content) " +
+            "from Article a join a.user u where a.id = :id and u.deletedAt is null")
+    Optional<ArticleSearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+    @Query("select new com.devgeon.yourlog.domain.dto.ArticleSearchDocument(a.id, u.id, a.title, a.content) " +
+            "from Article a join a.user u where a.id > :after and u.deletedAt is null order by a.id asc")
+    List<ArticleSearchDocument> findSearchDocumentsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Oldest first, for the export. On the export pool rows come from a server-side cursor a fetch at a time, and a
+     * projection keeps them out of the persistence context, so memory does not grow with the number of articles.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("select new com.devgeon.yourlog.domain.dto.ArticleExportDto(a.id, a.title, a.content, a.createdAt) " +
+            "from Article a where a.user.id = :userId order by a.id asc")
+    Stream<ArticleExportDto> streamExportsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Newest first, for building the title suggester.
+     */
+    @Query("select new com.devgeon.yourlog.domain.dto.ArticleTitleDto(a.id, a.title) " +
+            "from Article a join a.user u where a.id < :before and u.deletedAt is null order by a.id desc")
+    List<ArticleTitleDto> findTitlesBefore(@Param("before") Long before, Limit limit);
 }
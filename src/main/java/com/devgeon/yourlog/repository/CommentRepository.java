@@ -1,17 +1,81 @@
 package com.devgeon.yourlog.repository;
 
-import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.dto.CommentDto;
+import com.devgeon.yourlog.domain.dto.CommentExportDto;
 import com.devgeon.yourlog.domain.entity.Comment;
-import com.devgeon.yourlog.domain.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-@Transactional
+@Transactional(readOnly = true)
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    void deleteByUser(User user);
+    // Bulk deletes: one statement whatever the number of rows, and nothing is loaded into the persistence context.
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Comment c where c.article.id = :articleId")
+    int bulkDeleteByArticleId(@Param("articleId") Long articleId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Comment c where c.user.id = :userId")
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Comments by anyone on the articles written by {@code userId}; these block deleting the articles.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Comment c where c.article.id in (select a.id from Article a where a.user.id = :userId)")
+    int bulkDeleteByArticleUserId(@Param("userId") Long userId);
+
+    // Chunked variants for the purge job. The persistence context is not cleared, so the job's counters survive.
+
+    @Transactional
+    @Modifying
+    @Query("delete from Comment c where c.article.id in :articleIds")
+    int bulkDeleteByArticleIdIn(@Param("articleIds") List<Long> articleIds);
+
+    @Query("select c.id from Comment c where c.article.id in (select a.id from Article a where a.user.id = :userId)")
+    List<Long> findIdsByArticleUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("select c.id from Comment c where c.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Comments on the articles of {@code userId} in the order {@link ArticleRepository#streamExportsByUserId} returns
+     * the articles, so the export can merge the two cursors. A projection, so nothing is kept in the persistence
+     * context.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("select new com.devgeon.yourlog.domain.dto.CommentExportDto(c.article.id, c.id, u.email, c.content, c.createdAt) " +
+            "from Comment c join c.user u where c.article.user.id = :userId and u.deletedAt is null " +
+            "order by c.article.id asc, c.id asc")
+    Stream<CommentExportDto> streamExportsByArticleUserId(@Param("userId") Long userId);
+
+    @EntityGraph("Comment.user")
+    Optional<Comment> findWithUserById(Long id);
 
-    void deleteByArticle(Article article);
+    /**
+     * Oldest first, continuing after the {@code after} cursor: a single range scan on the (article_id, comment_id)
+     * index, without joining the article.
+     */
+    @Query("select new com.devgeon.yourlog.domain.dto.CommentDto(c.id, u.email, c.content) " +
+            "from Comment c join c.user u where c.article.id = :articleId and c.id > :after and u.deletedAt is null " +
+            "order by c.id asc")
+    List<CommentDto> findDtosByArticleIdAfter(@Param("articleId") Long articleId, @Param("after") Long after, Limit limit);
 }
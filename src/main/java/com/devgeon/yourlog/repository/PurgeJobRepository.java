@@ -0,0 +1,32 @@
+package com.devgeon.yourlog.repository;
+
+import com.devgeon.yourlog.domain.entity.PurgeJob;
+import com.devgeon.yourlog.domain.entity.PurgeStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface PurgeJobRepository extends JpaRepository<PurgeJob, Long> {
+
+    @Query("select j.id from PurgeJob j where j.status = :status order by j.id")
+    List<Long> findIdsByStatus(@Param("status") PurgeStatus status);
+
+    Optional<PurgeJob> findByPublicId(String publicId);
+
+    /**
+     * Serializes chunks of the same job across instances; the lock is held only for one chunk transaction.
+     */
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from PurgeJob j where j.id = :id")
+    Optional<PurgeJob> findForUpdateById(@Param("id") Long id);
+}
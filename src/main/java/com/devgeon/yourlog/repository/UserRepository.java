@@ -1,15 +1,45 @@
 package com.devgeon.yourlog.repository;
 
+import com.devgeon.yourlog.domain.dto.UserCredentials;
 import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.domain.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Optional;
 
+/**
+ * Stays on the primary even for reads: authentication runs outside a service transaction and must see a user right
+ * after they join or are deleted, which a lagging replica would not.
+ */
 @Repository
 @Transactional
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    List<User> findByEmail(String email);
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Looked up on the unique email index; only the columns password authentication needs.
+     */
+    @Query("select new com.devgeon.yourlog.domain.dto.UserCredentials(u.id, u.email, u.password, u.deletedAt)" +
+            " from User u where u.email = :email")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    boolean existsByIdAndDeletedAtIsNull(Long id);
+
+    @Query("select u.role from User u where u.id = :id and u.deletedAt is null")
+    Optional<UserRole> findRoleById(@Param("id") Long id);
+
+    boolean existsByEmailAndDeletedAtIsNull(String email);
+
+    /**
+     * Only replaces the hash the caller verified against, so a concurrent password change is never overwritten.
+     */
+    @Modifying
+    @Query("update User u set u.password = :newPassword where u.id = :id and u.password = :oldPassword")
+    int updatePassword(@Param("id") Long id, @Param("oldPassword") String oldPassword, @Param("newPassword") String newPassword);
 }
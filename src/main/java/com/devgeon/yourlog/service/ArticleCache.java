@@ -0,0 +1,68 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.domain.dto.ArticleDto;
+import com.devgeon.yourlog.domain.event.ArticleChangedEvent;
+import com.devgeon.yourlog.domain.event.UserDeletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of {@link ArticleDto} by article id, bounded by size and TTL.
+ * <p>
+ * Entries are invalidated after the changing transaction commits. A load and an invalidation of the same key do not
+ * interleave, so a value read before a commit cannot be put back after that commit's invalidation. Loaders must read
+ * the primary: a replica may still return the state before the commit, which would then be cached until the TTL.
+ */
+@Component
+public class ArticleCache {
+
+    private final Cache<Long, ArticleDto> cache;
+
+    public ArticleCache(MeterRegistry meterRegistry,
+                        @Value("${yourlog.cache.article.maximum-size:10000}") long maximumSize,
+                        @Value("${yourlog.cache.article.ttl:10m}") Duration ttl) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "article");
+    }
+
+    /**
+     * Missing articles are not cached.
+     */
+    public Optional<ArticleDto> get(Long articleId, Function<Long, Optional<ArticleDto>> loader) {
+        return Optional.ofNullable(cache.get(articleId, id -> loader.apply(id).orElse(null)));
+    }
+
+    public void invalidate(Long articleId) {
+        cache.invalidate(articleId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        cache.invalidate(event.getArticleId());
+    }
+
+    /**
+     * Scans the cache; user deletion is rare and the cache is bounded.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserDeleted(UserDeletedEvent event) {
+        cache.asMap().values().removeIf(article -> article.getEmail().equals(event.getEmail()));
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.config.ExportRoutingDataSource;
+import com.devgeon.yourlog.domain.dto.ArticleExportDto;
+import com.devgeon.yourlog.domain.dto.CommentExportDto;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the caller's articles as NDJSON, one line per article with its comments, in the shape
+ * {@link ArticleImportService} reads, so an export can be imported again.
+ * <p>
+ * Articles and their comments are read as projections from two forward-only cursors in the same order and merged
+ * while writing, and each line goes straight to the output, so nothing is held longer than it takes to write it:
+ * memory stays the same whatever the size of the account. The single read-only transaction keeps a connection of
+ * the export pool, whose driver reads those cursors from the server a fetch at a time, for the whole download.
+ */
+@Slf4j
+@Service
+@Timed("yourlog.service")
+@RequiredArgsConstructor
+public class ArticleExportService {
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Does not close {@code out}.
+     *
+     * @return the number of articles written
+     */
+    @Transactional(readOnly = true)
+    public long export(AuthUser authUser, OutputStream out) throws IOException {
+
+        long start = System.nanoTime();
+        long articles = 0, comments = 0;
+
+        // the connection is only taken at the first query, inside the route
+        try (ExportRoutingDataSource.Route ignored = ExportRoutingDataSource.route();
+             Stream<ArticleExportDto> articleStream = articleRepository.streamExportsByUserId(authUser.getId());
+             Stream<CommentExportDto> commentStream = commentRepository.streamExportsByArticleUserId(authUser.getId());
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<CommentExportDto> commentIterator = commentStream.iterator();
+            CommentExportDto comment = commentIterator.hasNext() ? commentIterator.next() : null;
+
+            for (Iterator<ArticleExportDto> articleIterator = articleStream.iterator(); articleIterator.hasNext(); ) {
+                ArticleExportDto article = articleIterator.next();
+
+                generator.writeStartObject();
+                generator.writeNumberField("articleId", article.getArticleId());
+                generator.writeStringField("title", article.getTitle());
+                generator.writeStringField("content", article.getContent());
+                generator.writeObjectField("createdAt", article.getCreatedAt());
+
+                generator.writeArrayFieldStart("comments");
+                // both cursors are ordered by article id; a comment behind the current article has no line to go on
+                while (comment != null && comment.getArticleId() <= article.getArticleId()) {
+                    if (comment.getArticleId().equals(article.getArticleId())) {
+                        generator.writeStartObject();
+                        generator.writeNumberField("commentId", comment.getCommentId());
+                        generator.writeStringField("email", comment.getEmail());
+                        generator.writeStringField("content", comment.getContent());
+                        generator.writeObjectField("createdAt", comment.getCreatedAt());
+                        generator.writeEndObject();
+                        comments++;
+                    }
+                    comment = commentIterator.hasNext() ? commentIterator.next() : null;
+                }
+                generator.writeEndArray();
+
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                articles++;
+            }
+        }
+
+        log.info("export finished: userId={}, articles={}, comments={}, {}ms",
+                authUser.getId(), articles, comments, (System.nanoTime() - start) / 1_000_000);
+        return articles;
+    }
+
+}
@@ -0,0 +1,327 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.domain.dto.ArticleImportError;
+import com.devgeon.yourlog.domain.dto.ArticleImportRequest;
+import com.devgeon.yourlog.domain.dto.ArticleImportResponse;
+import com.devgeon.yourlog.domain.dto.ArticleSearchDocument;
+import com.devgeon.yourlog.domain.dto.CommentImportRequest;
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.Comment;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports an NDJSON stream of articles, each with its comments, into the caller's account.
+ * <p>
+ * The stream is read one line at a time and at most one chunk of parsed lines is kept, so memory does not grow
+ * with the size of the import. Each chunk is written in its own transaction with JDBC batching; a line that fails
+ * to parse, validate or insert is reported and skipped, and the lines around it are still imported.
+ * <p>
+ * A line longer than {@code yourlog.import.max-line-length} characters is skipped without being buffered and
+ * reported like any other bad line, and a chunk is written early once its lines add up to
+ * {@value #MAX_CHUNK_CHARS} characters, so neither one huge line nor many long ones raise the bound.
+ */
+@Slf4j
+@Service
+@Timed("yourlog.service")
+public class ArticleImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_CHUNK_CHARS = 16 * 1024 * 1024;
+
+    private final UserRepository userRepository;
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final ArticleSearchIndexer articleSearchIndexer;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxLineLength;
+
+    public ArticleImportService(UserRepository userRepository, ArticleRepository articleRepository,
+                                CommentRepository commentRepository, ArticleSearchIndexer articleSearchIndexer,
+                                EntityManager entityManager, TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper, Validator validator,
+                                @Value("${yourlog.import.chunk-size:500}") int chunkSize,
+                                @Value("${yourlog.import.batch-size:50}") int batchSize,
+                                @Value("${yourlog.import.max-line-length:1048576}") int maxLineLength) {
+
+        this.userRepository = userRepository;
+        this.articleRepository = articleRepository;
+        this.commentRepository = commentRepository;
+        this.articleSearchIndexer = articleSearchIndexer;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    public ArticleImportResponse importArticles(AuthUser authUser, InputStream body) {
+
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<ImportLine> chunk = new ArrayList<>(chunkSize);
+        long chunkChars = 0;
+
+        try {
+            LineReader reader = new LineReader(new InputStreamReader(body, StandardCharsets.UTF_8), maxLineLength);
+            long lineNumber = 0;
+
+            while (reader.next()) {
+                lineNumber++;
+                if (reader.isOversize()) {
+                    progress.fail(lineNumber, "line longer than " + maxLineLength + " characters");
+                    continue;
+                }
+
+                String line = reader.line();
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                ImportLine importLine = parse(lineNumber, line, progress);
+                if (importLine != null) {
+                    chunk.add(importLine);
+                    chunkChars += line.length();
+                }
+                if (chunk.size() >= chunkSize || chunkChars >= MAX_CHUNK_CHARS) {
+                    writeChunk(authUser, chunk, progress);
+                    chunk.clear();
+                    chunkChars = 0;
+                }
+            }
+        } catch (IOException e) {
+            // chunks written so far stay committed
+            throw new UncheckedIOException(e);
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(authUser, chunk, progress);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long articlesPerSecond = progress.articles * 1000 / Math.max(elapsedMillis, 1);
+
+        log.info("import finished: userId={}, articles={}, comments={}, failedLines={}, {}ms, {} articles/s",
+                authUser.getId(), progress.articles, progress.comments, progress.failedLines, elapsedMillis, articlesPerSecond);
+
+        return new ArticleImportResponse(progress.articles, progress.comments, progress.failedLines, progress.errors,
+                elapsedMillis, articlesPerSecond);
+    }
+
+    private ImportLine parse(long lineNumber, String line, Progress progress) {
+
+        ArticleImportRequest request;
+        try {
+            request = objectMapper.readValue(line, ArticleImportRequest.class);
+        } catch (JsonProcessingException e) {
+            progress.fail(lineNumber, e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<ArticleImportRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            progress.fail(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+
+        return new ImportLine(lineNumber, request);
+    }
+
+    /**
+     * A failing insert rolls back the whole chunk, so the chunk is then retried line by line to import everything
+     * but the offending lines. Committed articles are indexed for search right away.
+     */
+    private void writeChunk(AuthUser authUser, List<ImportLine> chunk, Progress progress) {
+
+        try {
+            imported(authUser, transactionTemplate.execute(status -> save(authUser, chunk)), progress);
+        } catch (DataAccessException e) {
+            log.info("import chunk failed, retrying line by line: userId={}, lines={}", authUser.getId(), chunk.size());
+
+            for (ImportLine line : chunk) {
+                try {
+                    imported(authUser, transactionTemplate.execute(status -> save(authUser, List.of(line))), progress);
+                } catch (DataAccessException lineException) {
+                    progress.fail(line.number(), lineException.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void imported(AuthUser authUser, Saved saved, Progress progress) {
+
+        progress.articles += saved.articles().size();
+        progress.comments += saved.comments();
+
+        articleSearchIndexer.index(saved.articles().stream()
+                .map(article -> new ArticleSearchDocument(article.getId(), authUser.getId(), article.getTitle(), article.getContent()))
+                .toList());
+    }
+
+    private Saved save(AuthUser authUser, List<ImportLine> lines) {
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        User user = userRepository.getReferenceById(authUser.getId());
+
+        List<Article> articles = new ArrayList<>(lines.size());
+        List<Comment> comments = new ArrayList<>();
+
+        for (ImportLine line : lines) {
+            List<CommentImportRequest> lineComments = line.request().getComments() != null ? line.request().getComments() : List.of();
+
+            Article article = Article.builder()
+                    .title(line.request().getTitle())
+                    .content(line.request().getContent())
+                    .commentCount(lineComments.size())
+                    .user(user)
+                    .build();
+            articles.add(article);
+
+            for (CommentImportRequest comment : lineComments) {
+                comments.add(Comment.builder().content(comment.getContent()).article(article).user(user).build());
+            }
+        }
+
+        // ids are assigned on persist, so nothing is sent until this flush, which goes out as JDBC batches
+        articleRepository.saveAll(articles);
+        commentRepository.saveAllAndFlush(comments);
+
+        return new Saved(articles, comments.size());
+    }
+
+    private record ImportLine(long number, ArticleImportRequest request) {
+    }
+
+    /**
+     * Splits the stream at {@code '\n'} like {@link BufferedReader#readLine()}, but stops buffering a line once it
+     * is longer than {@code maxLength} and only skips to its end, so an oversize or unterminated line costs no more
+     * memory than a line at the limit.
+     */
+    private static class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean oversize;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return false at the end of the stream
+         */
+        boolean next() throws IOException {
+
+            line.setLength(0);
+            oversize = false;
+            boolean read = false;
+
+            while (true) {
+                if (position == limit) {
+                    int count = reader.read(buffer, 0, buffer.length);
+                    if (count < 0) {
+                        return read;
+                    }
+                    position = 0;
+                    limit = count;
+                }
+                read = true;
+
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+
+                if (position < limit) {
+                    position++;
+                    return true;
+                }
+            }
+        }
+
+        boolean isOversize() {
+            return oversize;
+        }
+
+        String line() {
+            int length = line.length();
+            return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+        }
+
+        private void append(int start, int end) {
+            if (oversize) {
+                return;
+            }
+            if (line.length() + (end - start) > maxLength) {
+                oversize = true;
+                line.setLength(0);
+                line.trimToSize();
+                return;
+            }
+            line.append(buffer, start, end - start);
+        }
+    }
+
+    private record Saved(List<Article> articles, long comments) {
+    }
+
+    private static class Progress {
+
+        private long articles;
+        private long comments;
+        private long failedLines;
+        private final List<ArticleImportError> errors = new ArrayList<>();
+
+        // only the first errors are kept so a badly broken file cannot exhaust memory
+        void fail(long line, String message) {
+            failedLines++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ArticleImportError(line, message));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.domain.dto.ArticleSearchDocument;
+import com.devgeon.yourlog.exception.InvalidCursorException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Embedded Lucene index over article title and content, ranked with BM25 (Lucene's default similarity).
+ * <p>
+ * Text is analyzed with {@link CJKAnalyzer}: Hangul (and other CJK) runs become overlapping bigrams, so a word
+ * still matches when a particle is attached to it, while Latin words stay whole. Changes become searchable on
+ * {@link #refresh()} and reach the disk on the periodic {@link #commit()}; whatever a crash loses is restored by a
+ * rebuild. A blank {@code yourlog.search.index-dir} keeps the index in memory.
+ */
+@Slf4j
+@Component
+public class ArticleSearchIndex {
+
+    private static final String ID = "id", USER_ID = "userId", TITLE = "title", CONTENT = "content";
+    private static final float TITLE_BOOST = 2.0f;
+    private static final int MAX_QUERY_TERMS = 32;
+
+    // score first, then id so that equal scores still have a total order for searchAfter
+    private static final Sort SORT = new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.LONG, true));
+
+    private final Analyzer analyzer = new CJKAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final boolean created;
+
+    public ArticleSearchIndex(@Value("${yourlog.search.index-dir:}") String indexDir) throws IOException {
+
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        this.created = !DirectoryReader.indexExists(directory);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Whether there was no index on disk at startup, so it has to be built from the database.
+     */
+    public boolean isCreated() {
+        return created;
+    }
+
+    public void index(ArticleSearchDocument article) {
+
+        Document document = new Document();
+        document.add(new StringField(ID, article.getArticleId().toString(), Field.Store.NO));
+        document.add(new NumericDocValuesField(ID, article.getArticleId()));
+        document.add(new StringField(USER_ID, article.getUserId().toString(), Field.Store.NO));
+        document.add(new TextField(TITLE, article.getTitle(), Field.Store.NO));
+        document.add(new TextField(CONTENT, article.getContent(), Field.Store.NO));
+
+        try {
+            writer.updateDocument(new Term(ID, article.getArticleId().toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Long articleId) {
+        try {
+            writer.deleteDocuments(new Term(ID, articleId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteByUser(Long userId) {
+        try {
+            writer.deleteDocuments(new Term(USER_ID, userId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes changes so far visible to searches without writing them to disk.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${yourlog.search.commit-interval:PT30S}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ranked article ids matching any term of {@code text}; a title match weighs double. {@code after} is the
+     * {@link Hits#nextCursor()} of the previous page. Scores move as the index changes, so a page boundary is only
+     * stable while the index is.
+     */
+    public Hits search(String text, String after, int pageSize) {
+
+        Query query = toQuery(text);
+        if (query == null) {
+            return new Hits(List.of(), null);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // one extra hit tells whether another page exists
+                TopFieldDocs top = searcher.searchAfter(toFieldDoc(after), query, pageSize + 1, SORT, true);
+
+                List<Long> articleIds = new ArrayList<>(pageSize);
+                FieldDoc last = null;
+                for (int i = 0; i < Math.min(top.scoreDocs.length, pageSize); i++) {
+                    last = (FieldDoc) top.scoreDocs[i];
+                    articleIds.add((Long) last.fields[1]);
+                }
+
+                String nextCursor = top.scoreDocs.length > pageSize ? last.fields[0] + ":" + last.fields[1] : null;
+                return new Hits(articleIds, nextCursor);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query toQuery(String text) {
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        int terms = 0;
+
+        try (TokenStream stream = analyzer.tokenStream(CONTENT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (terms < MAX_QUERY_TERMS && stream.incrementToken()) {
+                builder.add(new BoostQuery(new TermQuery(new Term(TITLE, term.toString())), TITLE_BOOST), BooleanClause.Occur.SHOULD);
+                builder.add(new TermQuery(new Term(CONTENT, term.toString())), BooleanClause.Occur.SHOULD);
+                terms++;
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return terms > 0 ? builder.build() : null;
+    }
+
+    private static FieldDoc toFieldDoc(String cursor) {
+
+        if (cursor == null) {
+            return null;
+        }
+
+        String[] parts = cursor.split(":");
+        if (parts.length != 2) {
+            throw new InvalidCursorException();
+        }
+
+        try {
+            float score = Float.parseFloat(parts[0]);
+            long articleId = Long.parseLong(parts[1]);
+            return new FieldDoc(Integer.MAX_VALUE, score, new Object[]{score, articleId});
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    // closing the writer commits what is still pending
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public record Hits(List<Long> articleIds, String nextCursor) {
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.domain.dto.ArticleSearchDocument;
+import com.devgeon.yourlog.domain.event.ArticleChangedEvent;
+import com.devgeon.yourlog.domain.event.UserDeletedEvent;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Keeps {@link ArticleSearchIndex} in step with the database: each committed article change is re-read and
+ * re-indexed, and {@link #rebuild()} indexes every article from scratch. The re-read goes to the primary, since a
+ * replica may not have the commit yet.
+ * <p>
+ * The request has already committed when the listeners run, so an indexing failure is only logged; a rebuild
+ * repairs it. Each instance only hears about its own writes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleSearchIndexer {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleRepository articleRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        try {
+            articleRepository.findSearchDocumentById(event.getArticleId())
+                    .ifPresentOrElse(articleSearchIndex::index, () -> articleSearchIndex.delete(event.getArticleId()));
+            articleSearchIndex.refresh();
+        } catch (RuntimeException e) {
+            log.error("search index update failed: articleId={}", event.getArticleId(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserDeleted(UserDeletedEvent event) {
+        try {
+            articleSearchIndex.deleteByUser(event.getUserId());
+            articleSearchIndex.refresh();
+        } catch (RuntimeException e) {
+            log.error("search index update failed: userId={}", event.getUserId(), e);
+        }
+    }
+
+    /**
+     * For writers that already hold the committed articles, such as the import.
+     */
+    public void index(List<ArticleSearchDocument> articles) {
+        try {
+            articles.forEach(articleSearchIndex::index);
+            articleSearchIndex.refresh();
+        } catch (RuntimeException e) {
+            log.error("search index update failed: articles={}", articles.size(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfCreated() {
+        if (articleSearchIndex.isCreated()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Walks all visible articles by id, one short read-only query per page.
+     *
+     * @return the number of articles indexed
+     */
+    public synchronized long rebuild() {
+
+        long start = System.nanoTime();
+        long indexed = 0;
+        long after = 0L;
+
+        articleSearchIndex.deleteAll();
+        while (true) {
+            List<ArticleSearchDocument> page = articleRepository.findSearchDocumentsAfter(after, Limit.of(REBUILD_PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            page.forEach(articleSearchIndex::index);
+            indexed += page.size();
+            after = page.getLast().getArticleId();
+        }
+        articleSearchIndex.commit();
+        articleSearchIndex.refresh();
+
+        log.info("search index rebuilt: articles={}, {}ms", indexed, (System.nanoTime() - start) / 1_000_000);
+        return indexed;
+    }
+
+}
@@ -1,23 +1,32 @@
 package com.devgeon.yourlog.service;
 
+import com.devgeon.yourlog.auth.AuthUser;
 import com.devgeon.yourlog.domain.dto.*;
 import com.devgeon.yourlog.domain.entity.Article;
-import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.domain.event.ArticleChangedEvent;
 import com.devgeon.yourlog.exception.ArticleNotFoundException;
-import com.devgeon.yourlog.exception.UserAuthenticationException;
+import com.devgeon.yourlog.exception.UserNotFoundException;
 import com.devgeon.yourlog.repository.ArticleRepository;
 import com.devgeon.yourlog.repository.CommentRepository;
 import com.devgeon.yourlog.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("yourlog.service")
 @Transactional
 @RequiredArgsConstructor
 public class ArticleService {
@@ -25,50 +34,139 @@ public class ArticleService {
     private final UserRepository userRepository;
     private final ArticleRepository articleRepository;
     private final CommentRepository commentRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final ArticleCache articleCache;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleSuggester articleSuggester;
+    private final ArticleViewCounter articleViewCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ArticleDto write(ArticleWriteRequest writeRequest) {
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleSummaryDto> list(Long before, int size) {
 
-        User user = getUserOrThrow(writeRequest.getEmail(), writeRequest.getPassword());
+        int pageSize = CursorPage.clampSize(size);
+
+        // one extra row tells whether another page exists without a count query
+        List<ArticleSummaryDto> articles = articleRepository.findSummariesBefore(
+                before != null ? before : Long.MAX_VALUE, Limit.of(pageSize + 1));
+
+        return CursorPage.of(articles, pageSize, ArticleSummaryDto::getArticleId);
+    }
+
+    /**
+     * Whether the author exists is only checked when the page comes back empty, to tell a missing author apart from
+     * the end of the articles.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleSummaryDto> listByAuthor(String email, Long before, int size) {
+
+        int pageSize = CursorPage.clampSize(size);
+
+        List<ArticleSummaryDto> articles = articleRepository.findSummariesByUserEmailBefore(
+                email, before != null ? before : Long.MAX_VALUE, Limit.of(pageSize + 1));
+
+        if (articles.isEmpty() && !userRepository.existsByEmailAndDeletedAtIsNull(email)) {
+            throw new UserNotFoundException();
+        }
+
+        return CursorPage.of(articles, pageSize, ArticleSummaryDto::getArticleId);
+    }
+
+    /**
+     * Ranks ids in the search index, then loads the summaries of one page by primary key. Articles deleted since they
+     * were indexed are dropped from the page.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage<ArticleSummaryDto> search(String query, String after, int size) {
+
+        ArticleSearchIndex.Hits hits = articleSearchIndex.search(query, after, CursorPage.clampSize(size));
+        if (hits.articleIds().isEmpty()) {
+            return new SearchPage<>(List.of(), hits.nextCursor());
+        }
+
+        Map<Long, ArticleSummaryDto> summaries = articleRepository.findSummariesByIdIn(hits.articleIds()).stream()
+                .collect(Collectors.toMap(ArticleSummaryDto::getArticleId, Function.identity()));
+
+        return new SearchPage<>(hits.articleIds().stream().map(summaries::get).filter(Objects::nonNull).toList(),
+                hits.nextCursor());
+    }
+
+    /**
+     * Answered from memory by {@link ArticleSuggester}, so no transaction is needed.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ArticleTitleDto> suggest(String prefix, int size) {
+
+        return articleSuggester.suggest(prefix, size);
+    }
+
+    /**
+     * Two statements regardless of the number of comments: the article joined to its author, and one page of
+     * comments joined to their authors. Both are projections, so no entity (and none of its eager associations)
+     * is loaded. The article part is served from {@link ArticleCache} when present. The view is counted in memory
+     * by {@link ArticleViewCounter}, so a read never updates the article row.
+     * <p>
+     * Not a read-only transaction of its own: each query runs in its repository's transaction, so a cache miss loads
+     * from the primary ({@link ArticleRepository#findDtoById}) while the comment page may come from the replica.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ArticleDetailDto read(Long id, Long after, int size) {
+
+        int pageSize = CursorPage.clampSize(size);
+
+        ArticleDto article = articleCache.get(id, articleRepository::findDtoById).orElseThrow(ArticleNotFoundException::new);
+        articleViewCounter.increment(id);
+        List<CommentDto> comments = commentRepository.findDtosByArticleIdAfter(
+                id, after != null ? after : 0L, Limit.of(pageSize + 1));
+
+        return new ArticleDetailDto(article.getArticleId(), article.getEmail(), article.getTitle(), article.getContent(),
+                article.getViews() + articleViewCounter.pending(id),
+                CursorPage.of(comments, pageSize, CommentDto::getCommentId));
+    }
+
+    /**
+     * Checked before {@link #read} so an unchanged article is answered without loading content or comments. Not a
+     * read-only transaction, so the repository reads the version from the primary.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ArticleVersion version(Long id) {
+
+        return articleRepository.findVersionById(id).orElseThrow(ArticleNotFoundException::new);
+    }
+
+    public ArticleDto write(AuthUser authUser, ArticleWriteRequest writeRequest) {
 
         Article article = articleRepository.save(Article.builder()
                 .title(writeRequest.getTitle())
                 .content(writeRequest.getContent())
-                .user(user)
+                .user(userRepository.getReferenceById(authUser.getId()))
                 .build());
+        eventPublisher.publishEvent(new ArticleChangedEvent(article.getId()));
 
-        return new ArticleDto(article.getId(), article.getUser().getEmail(), article.getTitle(), article.getContent());
+        return new ArticleDto(article.getId(), authUser.getEmail(), article.getTitle(), article.getContent(), 0L);
     }
 
     public ArticleDto edit(Long id, ArticleEditRequest editRequest) {
 
-        getUserOrThrow(editRequest.getEmail(), editRequest.getPassword());
-        Article article = articleRepository.findById(id).orElseThrow(ArticleNotFoundException::new);
+        Article article = articleRepository.findWithUserById(id).orElseThrow(ArticleNotFoundException::new);
 
         article.update(editRequest.getTitle(), editRequest.getContent());
+        eventPublisher.publishEvent(new ArticleChangedEvent(id));
 
-        return new ArticleDto(article.getId(), article.getUser().getEmail(), article.getTitle(), article.getContent());
+        return new ArticleDto(article.getId(), article.getUser().getEmail(), article.getTitle(), article.getContent(),
+                article.getViews() + articleViewCounter.pending(id));
     }
 
     public ArticleDeleteResponse delete(Long id, ArticleDeleteRequest deleteRequest) {
 
-        getUserOrThrow(deleteRequest.getEmail(), deleteRequest.getPassword());
-        Article article = articleRepository.findById(id).orElseThrow(ArticleNotFoundException::new);
+        if (!articleRepository.existsById(id)) {
+            throw new ArticleNotFoundException();
+        }
 
-        commentRepository.deleteByArticle(article);
+        commentRepository.bulkDeleteByArticleId(id);
         articleRepository.deleteById(id);
+        eventPublisher.publishEvent(new ArticleChangedEvent(id));
 
         return new ArticleDeleteResponse(deleteRequest.getEmail(), deleteRequest.getPassword());
     }
 
-    private User getUserOrThrow(String email, String password) {
-
-        List<User> userList = userRepository.findByEmail(email);
-        if (userList.isEmpty() || !bCryptPasswordEncoder.matches(password, userList.getFirst().getPassword())) {
-            throw new UserAuthenticationException();
-        }
-
-        return userList.getFirst();
-    }
-
 }
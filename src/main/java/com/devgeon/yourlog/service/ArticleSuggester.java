@@ -0,0 +1,267 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.domain.dto.ArticleTitleDto;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.search.suggest.InputIterator;
+import org.apache.lucene.search.suggest.Lookup.LookupResult;
+import org.apache.lucene.search.suggest.fst.WFSTCompletionLookup;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IOUtils;
+import org.apache.lucene.util.packed.PackedInts;
+import org.apache.lucene.util.packed.PackedLongValues;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Title type-ahead over the newest {@code yourlog.suggest.max-entries} titles, ranked newest first.
+ * <p>
+ * Each title is held once, lowercased, as a key of an immutable FST ({@link WFSTCompletionLookup}) that shares
+ * prefixes and suffixes between titles, with no object per title. The FST weight is the title's rank, which indexes
+ * packed arrays of the article ids and of the upper-case positions that give the title back its case. The whole
+ * thing is rebuilt in the background from the database and swapped in with a single volatile write, so lookups never
+ * wait for a rebuild; new titles show up after the next one.
+ */
+@Slf4j
+@Component
+public class ArticleSuggester {
+
+    public static final int MAX_SIZE = 20;
+    private static final int PAGE_SIZE = 1000;
+
+    private final ArticleRepository articleRepository;
+    private final int maxEntries;
+
+    private volatile Suggestions suggestions;
+
+    public ArticleSuggester(ArticleRepository articleRepository, MeterRegistry meterRegistry,
+                            @Value("${yourlog.suggest.max-entries:1000000}") int maxEntries) {
+
+        this.articleRepository = articleRepository;
+        this.maxEntries = maxEntries;
+
+        Gauge.builder("yourlog.suggest.entries", this, s -> s.suggestions != null ? s.suggestions.articleIds().size() : 0)
+                .description("Titles in the current suggester")
+                .register(meterRegistry);
+        Gauge.builder("yourlog.suggest.memory", this, ArticleSuggester::ramBytesUsed)
+                .description("Memory held by the current suggester")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Empty until the first build has finished.
+     */
+    public List<ArticleTitleDto> suggest(String prefix, int size) {
+
+        Suggestions current = suggestions;
+        if (current == null || prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+
+        try {
+            return current.lookup().lookup(lowerCase(prefix), false, Math.clamp(size, 1, MAX_SIZE)).stream()
+                    .map(current::toDto)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long ramBytesUsed() {
+        Suggestions current = suggestions;
+        return current != null ? current.ramBytesUsed() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${yourlog.suggest.rebuild-interval:PT5M}")
+    public void rebuild() {
+
+        long start = System.nanoTime();
+
+        try {
+            // the build sorts its input on disk here, so the titles never sit in the heap all at once
+            Path tempPath = Files.createTempDirectory("yourlog-suggest");
+            try (Directory tempDir = FSDirectory.open(tempPath)) {
+                WFSTCompletionLookup lookup = new WFSTCompletionLookup(tempDir, "suggest", false);
+                TitleInputIterator titles = new TitleInputIterator(new TitlePages(), maxEntries);
+                lookup.build(titles);
+                Suggestions next = titles.toSuggestions(lookup);
+                suggestions = next;
+
+                log.info("suggester rebuilt: titles={}, {} bytes, {}ms",
+                        next.articleIds().size(), next.ramBytesUsed(), (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                IOUtils.rm(tempPath);
+            }
+        } catch (IOException e) {
+            log.error("suggester rebuild failed, keeping the previous one", e);
+        }
+    }
+
+    // char by char, so every title keeps its length and each letter can be upper-cased back in place
+    private static String lowerCase(String text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(text.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * One build: entry {@code rank} has the article id {@code articleIds[rank]} and is upper-case at the positions
+     * {@code upperPositions[upperStarts[rank]]} up to {@code upperPositions[upperStarts[rank + 1]]}.
+     */
+    private record Suggestions(WFSTCompletionLookup lookup, PackedLongValues articleIds,
+                               PackedLongValues upperStarts, PackedLongValues upperPositions) {
+
+        ArticleTitleDto toDto(LookupResult result) {
+            int rank = TitleInputIterator.rank(result.value);
+
+            char[] title = result.key.toString().toCharArray();
+            for (long i = upperStarts.get(rank); i < upperStarts.get(rank + 1); i++) {
+                int position = (int) upperPositions.get(i);
+                title[position] = Character.toUpperCase(title[position]);
+            }
+            return new ArticleTitleDto(articleIds.get(rank), new String(title));
+        }
+
+        long ramBytesUsed() {
+            return lookup.ramBytesUsed() + articleIds.ramBytesUsed() + upperStarts.ramBytesUsed() + upperPositions.ramBytesUsed();
+        }
+    }
+
+    /**
+     * Titles newest first, one keyset page at a time.
+     */
+    private class TitlePages implements Iterator<ArticleTitleDto> {
+
+        private Iterator<ArticleTitleDto> page = Collections.emptyIterator();
+        private long before = Long.MAX_VALUE;
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && !exhausted) {
+                List<ArticleTitleDto> rows = articleRepository.findTitlesBefore(before, Limit.of(PAGE_SIZE));
+                exhausted = rows.size() < PAGE_SIZE;
+                if (!rows.isEmpty()) {
+                    before = rows.getLast().getArticleId();
+                }
+                page = rows.iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public ArticleTitleDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+    }
+
+    /**
+     * Feeds the lowercased titles to the FST and packs the rest of each entry as it goes. Titles arrive newest first,
+     * so the rank is the weight, falling with the position. Of two titles that only differ in case the FST keeps the
+     * newer one.
+     */
+    private static class TitleInputIterator implements InputIterator {
+
+        private final Iterator<ArticleTitleDto> titles;
+        private final int maxEntries;
+        private final PackedLongValues.Builder articleIds = PackedLongValues.monotonicBuilder(PackedInts.COMPACT);
+        private final PackedLongValues.Builder upperStarts = PackedLongValues.monotonicBuilder(PackedInts.COMPACT);
+        private final PackedLongValues.Builder upperPositions = PackedLongValues.packedBuilder(PackedInts.COMPACT);
+        private int position;
+
+        TitleInputIterator(Iterator<ArticleTitleDto> titles, int maxEntries) {
+            this.titles = titles;
+            this.maxEntries = maxEntries;
+        }
+
+        static int rank(long weight) {
+            return Integer.MAX_VALUE - (int) weight;
+        }
+
+        @Override
+        public BytesRef next() {
+            while (position < maxEntries && titles.hasNext()) {
+                ArticleTitleDto current = titles.next();
+                position++;
+
+                String title = current.getTitle();
+                String key = lowerCase(title);
+                // the odd letter whose upper case is not where it came from (such as 'İ') would not come back
+                if (hasRestorableCase(title, key)) {
+                    articleIds.add(current.getArticleId());
+                    upperStarts.add(upperPositions.size());
+                    for (int i = 0; i < title.length(); i++) {
+                        if (title.charAt(i) != key.charAt(i)) {
+                            upperPositions.add(i);
+                        }
+                    }
+                    return new BytesRef(key);
+                }
+            }
+            return null;
+        }
+
+        private static boolean hasRestorableCase(String title, String key) {
+            for (int i = 0; i < title.length(); i++) {
+                if (title.charAt(i) != key.charAt(i) && title.charAt(i) != Character.toUpperCase(key.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public long weight() {
+            return Integer.MAX_VALUE - (articleIds.size() - 1);
+        }
+
+        @Override
+        public BytesRef payload() {
+            return null;
+        }
+
+        @Override
+        public boolean hasPayloads() {
+            return false;
+        }
+
+        @Override
+        public Set<BytesRef> contexts() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContexts() {
+            return false;
+        }
+
+        Suggestions toSuggestions(WFSTCompletionLookup lookup) {
+            upperStarts.add(upperPositions.size());
+            return new Suggestions(lookup, articleIds.build(), upperStarts.build(), upperPositions.build());
+        }
+    }
+
+}
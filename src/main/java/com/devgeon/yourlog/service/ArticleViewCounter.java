@@ -0,0 +1,119 @@
+package com.devgeon.yourlog.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind article view counts. A view only increments an in-memory {@link LongAdder}, whose cells spread
+ * concurrent increments of a hot article over several memory locations, and the accumulated deltas are written
+ * periodically as one batch of {@code views = views + ?} updates. A read adds the pending delta to the persisted
+ * value.
+ * <p>
+ * Views pending at a crash are lost, and each instance only adds its own pending views. While a batch is being
+ * written its views are in neither place, so a read at that moment may show fewer.
+ */
+@Slf4j
+@Component
+public class ArticleViewCounter {
+
+    private static final String INCREMENT_VIEWS = "update article set views = views + ? where article_id = ?";
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArticleCache articleCache;
+    private final int batchSize;
+
+    public ArticleViewCounter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ArticleCache articleCache,
+                              @Value("${yourlog.views.batch-size:500}") int batchSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.articleCache = articleCache;
+        this.batchSize = batchSize;
+    }
+
+    public void increment(Long articleId) {
+        pending.computeIfAbsent(articleId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Views of this instance not yet written to the database.
+     */
+    public long pending(Long articleId) {
+        LongAdder adder = pending.get(articleId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Writes the deltas in article id order, so flushes of several instances lock rows in the same order. A failed
+     * write puts its deltas back for the next flush. Flushed articles are dropped from {@link ArticleCache}, whose
+     * entries carry the persisted count.
+     *
+     * @return the number of articles updated
+     */
+    @Scheduled(fixedDelayString = "${yourlog.views.flush-interval:PT10S}")
+    public synchronized int flush() {
+
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<Long, Long>> rows = new ArrayList<>(deltas.entrySet());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INCREMENT_VIEWS, rows, batchSize,
+                    (statement, row) -> {
+                        statement.setLong(1, row.getValue());
+                        statement.setLong(2, row.getKey());
+                    }));
+        } catch (DataAccessException e) {
+            deltas.forEach((articleId, delta) -> pending.computeIfAbsent(articleId, id -> new LongAdder()).add(delta));
+            log.error("view count flush failed, retrying on the next one: articles={}", deltas.size(), e);
+            return 0;
+        }
+
+        deltas.keySet().forEach(articleCache::invalidate);
+        return deltas.size();
+    }
+
+    /**
+     * {@link LongAdder#sumThenReset()} takes each cell atomically, so an increment racing with it lands in either this
+     * flush or the next. A counter idle since the last flush is removed to keep the map to recently viewed articles;
+     * an increment that looked it up just before the removal is lost.
+     */
+    private Map<Long, Long> drain() {
+
+        Map<Long, Long> deltas = new TreeMap<>();
+        pending.forEach((articleId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(articleId, delta);
+            } else {
+                pending.remove(articleId, adder);
+            }
+        });
+        return deltas;
+    }
+
+    // runs before the DataSource closes, since this bean depends on it
+    @PreDestroy
+    public void shutdown() {
+        int flushed = flush();
+        log.info("view counts flushed on shutdown: articles={}", flushed);
+    }
+
+}
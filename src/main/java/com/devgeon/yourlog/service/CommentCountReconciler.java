@@ -0,0 +1,63 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Repairs {@code article.comment_count} where it drifted from the comments, e.g. after a manual fix in the database.
+ * <p>
+ * Articles are walked by id one batch at a time, each batch a single update in its own short transaction, so the
+ * pass never locks more than a batch of article rows at once. A comment written while its batch is recounted may
+ * leave that count off until the next pass.
+ */
+@Slf4j
+@Component
+public class CommentCountReconciler {
+
+    private final ArticleRepository articleRepository;
+    private final int batchSize;
+
+    public CommentCountReconciler(ArticleRepository articleRepository,
+                                  @Value("${yourlog.comment-count.reconcile-batch-size:500}") int batchSize) {
+
+        this.articleRepository = articleRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the number of articles repaired
+     */
+    @Scheduled(initialDelayString = "${yourlog.comment-count.reconcile-interval:PT1H}",
+            fixedDelayString = "${yourlog.comment-count.reconcile-interval:PT1H}")
+    public synchronized long reconcile() {
+
+        long start = System.nanoTime();
+        long checked = 0, repaired = 0;
+        long after = 0L;
+
+        while (true) {
+            List<Long> ids = articleRepository.findIdsAfter(after, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            repaired += articleRepository.reconcileCommentCounts(ids.getFirst(), ids.getLast());
+            checked += ids.size();
+            after = ids.getLast();
+        }
+
+        if (repaired > 0) {
+            log.warn("comment counts repaired: articles={}, checked={}, {}ms", repaired, checked, (System.nanoTime() - start) / 1_000_000);
+        } else {
+            log.info("comment counts checked: articles={}, {}ms", checked, (System.nanoTime() - start) / 1_000_000);
+        }
+        return repaired;
+    }
+
+}
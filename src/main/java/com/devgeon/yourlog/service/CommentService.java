@@ -1,18 +1,17 @@
 package com.devgeon.yourlog.service;
 
+import com.devgeon.yourlog.auth.AuthUser;
 import com.devgeon.yourlog.domain.dto.*;
-import com.devgeon.yourlog.domain.entity.Article;
 import com.devgeon.yourlog.domain.entity.Comment;
-import com.devgeon.yourlog.domain.entity.User;
 import com.devgeon.yourlog.exception.ArticleNotFoundException;
 import com.devgeon.yourlog.exception.CommentNotFoundException;
-import com.devgeon.yourlog.exception.UserAuthenticationException;
 import com.devgeon.yourlog.repository.ArticleRepository;
 import com.devgeon.yourlog.repository.CommentRepository;
 import com.devgeon.yourlog.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +19,7 @@ import java.util.List;
 
 @Slf4j
 @Service
+@Timed("yourlog.service")
 @Transactional
 @RequiredArgsConstructor
 public class CommentService {
@@ -27,26 +27,44 @@ public class CommentService {
     private final UserRepository userRepository;
     private final ArticleRepository articleRepository;
     private final CommentRepository commentRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
-    public CommentDto write(Long articleId, CommentWriteRequest writeRequest) {
+    /**
+     * One range scan on the (article_id, comment_id) index. Does not check that the article exists: the controller
+     * resolves {@link ArticleService#version} first, which already answers a missing article.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> list(Long articleId, Long after, int size) {
 
-        User user = getUserOrThrow(writeRequest.getEmail(), writeRequest.getPassword());
-        Article article = articleRepository.findById(articleId).orElseThrow(ArticleNotFoundException::new);
+        int pageSize = CursorPage.clampSize(size);
+
+        List<CommentDto> comments = commentRepository.findDtosByArticleIdAfter(
+                articleId, after != null ? after : 0L, Limit.of(pageSize + 1));
+
+        return CursorPage.of(comments, pageSize, CommentDto::getCommentId);
+    }
+
+    /**
+     * The count increment doubles as the existence check, and its row lock keeps the article from being deleted
+     * before the comment is in.
+     */
+    public CommentDto write(AuthUser authUser, Long articleId, CommentWriteRequest writeRequest) {
+
+        if (articleRepository.addCommentCount(articleId, 1) == 0) {
+            throw new ArticleNotFoundException();
+        }
 
         Comment comment = commentRepository.save(Comment.builder()
                 .content(writeRequest.getContent())
-                .article(article)
-                .user(user)
+                .article(articleRepository.getReferenceById(articleId))
+                .user(userRepository.getReferenceById(authUser.getId()))
                 .build());
 
-        return new CommentDto(comment.getId(), comment.getUser().getEmail(), comment.getContent());
+        return new CommentDto(comment.getId(), authUser.getEmail(), comment.getContent());
     }
 
     public CommentDto edit(Long commentId, CommentEditRequest editRequest) {
 
-        getUserOrThrow(editRequest.getEmail(), editRequest.getPassword());
-        Comment comment = commentRepository.findById(commentId).orElseThrow(CommentNotFoundException::new);
+        Comment comment = commentRepository.findWithUserById(commentId).orElseThrow(CommentNotFoundException::new);
 
         comment.update(editRequest.getContent());
 
@@ -55,21 +73,12 @@ public class CommentService {
 
     public CommentDeleteResponse delete(Long commentId, CommentDeleteRequest deleteRequest) {
 
-        getUserOrThrow(deleteRequest.getEmail(), deleteRequest.getPassword());
-
-        commentRepository.deleteById(commentId);
+        commentRepository.findById(commentId).ifPresent(comment -> {
+            commentRepository.delete(comment);
+            articleRepository.addCommentCount(comment.getArticle().getId(), -1);
+        });
 
         return new CommentDeleteResponse(deleteRequest.getEmail(), deleteRequest.getPassword());
     }
 
-    private User getUserOrThrow(String email, String password) {
-
-        List<User> userList = userRepository.findByEmail(email);
-        if (userList.isEmpty() || !bCryptPasswordEncoder.matches(password, userList.getFirst().getPassword())) {
-            throw new UserAuthenticationException();
-        }
-
-        return userList.getFirst();
-    }
-
 }
@@ -0,0 +1,36 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.domain.entity.PurgeStatus;
+import com.devgeon.yourlog.repository.PurgeJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drives unfinished purge jobs, including ones interrupted by a restart. Not transactional: every
+ * {@link UserPurgeService#purgeChunk} call commits on its own.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserPurgeScheduler {
+
+    private final UserPurgeService userPurgeService;
+    private final PurgeJobRepository purgeJobRepository;
+
+    @Scheduled(fixedDelayString = "${yourlog.purge.poll-interval:PT5S}")
+    public void purge() {
+
+        for (Long jobId : purgeJobRepository.findIdsByStatus(PurgeStatus.IN_PROGRESS)) {
+            try {
+                while (userPurgeService.purgeChunk(jobId)) {
+                    log.debug("purge chunk done: jobId={}", jobId);
+                }
+            } catch (RuntimeException e) {
+                log.error("purge failed, retrying on the next run: jobId={}", jobId, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.domain.dto.PurgeJobDto;
+import com.devgeon.yourlog.domain.entity.PurgeJob;
+import com.devgeon.yourlog.domain.entity.PurgeStatus;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.domain.event.UserDeletedEvent;
+import com.devgeon.yourlog.exception.PurgeJobNotFoundException;
+import com.devgeon.yourlog.exception.UserAuthenticationException;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
+import com.devgeon.yourlog.repository.PurgeJobRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Account deletion that returns right away: the user is marked deleted and {@link UserPurgeScheduler} removes the
+ * content in chunks, one short transaction per chunk.
+ */
+@Slf4j
+@Service
+@Timed("yourlog.service")
+@Transactional
+public class UserPurgeService {
+
+    private final UserRepository userRepository;
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final PurgeJobRepository purgeJobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public UserPurgeService(UserRepository userRepository, ArticleRepository articleRepository,
+                            CommentRepository commentRepository, PurgeJobRepository purgeJobRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${yourlog.purge.chunk-size:500}") int chunkSize) {
+
+        this.userRepository = userRepository;
+        this.articleRepository = articleRepository;
+        this.commentRepository = commentRepository;
+        this.purgeJobRepository = purgeJobRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public PurgeJobDto start(AuthUser authUser) {
+
+        User user = userRepository.findById(authUser.getId()).orElseThrow(UserAuthenticationException::new);
+        user.markDeleted();
+        eventPublisher.publishEvent(new UserDeletedEvent(user.getId(), user.getEmail()));
+
+        return toDto(purgeJobRepository.save(PurgeJob.start(user.getId())));
+    }
+
+    /**
+     * By the random public id handed out by {@link #start}: the user is already marked deleted, so neither a token
+     * nor a password authenticates them anymore, and knowing the id is what entitles a caller to the status.
+     */
+    @Transactional(readOnly = true)
+    public PurgeJobDto status(String publicId) {
+
+        return toDto(purgeJobRepository.findByPublicId(publicId).orElseThrow(PurgeJobNotFoundException::new));
+    }
+
+    /**
+     * Deletes at most one chunk: comments on the user's articles, then the user's own comments, then the articles,
+     * and finally the user row.
+     *
+     * @return whether the job has more to delete
+     */
+    public boolean purgeChunk(Long jobId) {
+
+        PurgeJob job = purgeJobRepository.findForUpdateById(jobId).orElseThrow(PurgeJobNotFoundException::new);
+        if (job.getStatus() == PurgeStatus.COMPLETED) {
+            return false;
+        }
+
+        Long userId = job.getUserId();
+        Limit limit = Limit.of(chunkSize);
+
+        List<Long> commentIds = commentRepository.findIdsByArticleUserId(userId, limit);
+        if (commentIds.isEmpty()) {
+            commentIds = commentRepository.findIdsByUserId(userId, limit);
+        }
+        if (!commentIds.isEmpty()) {
+            articleRepository.decreaseCommentCountsByCommentIdIn(commentIds);
+            commentRepository.deleteAllByIdInBatch(commentIds);
+            job.addDeletedComments(commentIds.size());
+            return true;
+        }
+
+        List<Long> articleIds = articleRepository.findIdsByUserId(userId, limit);
+        if (!articleIds.isEmpty()) {
+            // comments other users left on these articles after the comment phase
+            job.addDeletedComments(commentRepository.bulkDeleteByArticleIdIn(articleIds));
+            articleRepository.deleteAllByIdInBatch(articleIds);
+            job.addDeletedArticles(articleIds.size());
+            return true;
+        }
+
+        userRepository.deleteById(userId);
+        job.complete();
+
+        log.info("user purged: userId={}, comments={}, articles={}", userId, job.getDeletedComments(), job.getDeletedArticles());
+        return false;
+    }
+
+    private PurgeJobDto toDto(PurgeJob job) {
+        return new PurgeJobDto(job.getPublicId(), job.getStatus(), job.getDeletedComments(), job.getDeletedArticles(),
+                job.getCreatedAt(), job.getCompletedAt());
+    }
+
+}
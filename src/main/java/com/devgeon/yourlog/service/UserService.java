@@ -1,24 +1,32 @@
 package com.devgeon.yourlog.service;
 
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.auth.IssuedToken;
+import com.devgeon.yourlog.auth.PasswordHasher;
+import com.devgeon.yourlog.auth.TokenProvider;
+import com.devgeon.yourlog.auth.UserAuthenticator;
 import com.devgeon.yourlog.domain.dto.UserDeleteRequest;
 import com.devgeon.yourlog.domain.dto.UserDeleteResponse;
 import com.devgeon.yourlog.domain.dto.UserDto;
 import com.devgeon.yourlog.domain.dto.UserJoinRequest;
+import com.devgeon.yourlog.domain.dto.UserLoginRequest;
+import com.devgeon.yourlog.domain.dto.UserLoginResponse;
 import com.devgeon.yourlog.domain.entity.User;
-import com.devgeon.yourlog.exception.UserAuthenticationException;
+import com.devgeon.yourlog.domain.event.UserDeletedEvent;
 import com.devgeon.yourlog.repository.ArticleRepository;
 import com.devgeon.yourlog.repository.CommentRepository;
 import com.devgeon.yourlog.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 @Slf4j
 @Service
+@Timed("yourlog.service")
 @Transactional
 @RequiredArgsConstructor
 public class UserService {
@@ -26,38 +34,45 @@ public class UserService {
     private final UserRepository userRepository;
     private final ArticleRepository articleRepository;
     private final CommentRepository commentRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserAuthenticator userAuthenticator;
+    private final TokenProvider tokenProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // hashing runs before the insert's own transaction so it does not hold a connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDto join(UserJoinRequest joinRequest) {
 
         User user = userRepository.save(User.builder()
                 .email(joinRequest.getEmail())
                 .username(joinRequest.getUsername())
-                .password(bCryptPasswordEncoder.encode(joinRequest.getPassword()))
+                .password(passwordHasher.encode(joinRequest.getPassword()))
                 .build());
 
         return new UserDto(user.getEmail(), user.getUsername());
     }
 
-    public UserDeleteResponse delete(UserDeleteRequest deleteRequest) {
-
-        User user = getUserOrThrow(deleteRequest.getEmail(), deleteRequest.getPassword());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserLoginResponse login(UserLoginRequest loginRequest) {
 
-        commentRepository.deleteByUser(user);
-        articleRepository.deleteByUser(user);
-        userRepository.deleteById(user.getId());
+        AuthUser authUser = userAuthenticator.authenticate(null, loginRequest.getEmail(), loginRequest.getPassword());
+        IssuedToken issuedToken = tokenProvider.issue(authUser.getId(), authUser.getEmail());
 
-        return new UserDeleteResponse(deleteRequest.getEmail(), deleteRequest.getPassword());
+        return new UserLoginResponse(authUser.getEmail(), issuedToken.getToken(), issuedToken.getExpiresAt());
     }
 
-    private User getUserOrThrow(String email, String password) {
+    public UserDeleteResponse delete(AuthUser authUser, UserDeleteRequest deleteRequest) {
 
-        List<User> userList = userRepository.findByEmail(email);
-        if (userList.isEmpty() || !bCryptPasswordEncoder.matches(password, userList.getFirst().getPassword())) {
-            throw new UserAuthenticationException();
-        }
+        // children before parents: comments on the user's articles, the user's own comments elsewhere (taken off the
+        // counts of those articles first), then articles
+        commentRepository.bulkDeleteByArticleUserId(authUser.getId());
+        articleRepository.decreaseCommentCountsByCommentUserId(authUser.getId());
+        commentRepository.bulkDeleteByUserId(authUser.getId());
+        articleRepository.bulkDeleteByUserId(authUser.getId());
+        userRepository.deleteById(authUser.getId());
+        eventPublisher.publishEvent(new UserDeletedEvent(authUser.getId(), authUser.getEmail()));
 
-        return userList.getFirst();
+        return new UserDeleteResponse(deleteRequest.getEmail(), deleteRequest.getPassword());
     }
 
 }
@@ -0,0 +1,3 @@
+-- admin endpoints (/api/v1/admin/**) require role ADMIN; promote an account with
+-- UPDATE user SET role = 'ADMIN' WHERE email = '...';
+ALTER TABLE user ADD COLUMN role VARCHAR(20) NOT NULL DEFAULT 'USER';
@@ -0,0 +1,2 @@
+-- keyset pagination of an article's comments: WHERE article_id = ? AND comment_id > ? ORDER BY comment_id
+CREATE INDEX idx_comment_article_id_comment_id ON comment (article_id, comment_id);
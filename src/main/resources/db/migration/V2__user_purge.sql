@@ -0,0 +1,17 @@
+-- asynchronous account deletion: the user is hidden at once and purged in chunks
+ALTER TABLE user ADD COLUMN deleted_at DATETIME(6) NULL;
+
+CREATE TABLE purge_job
+(
+    purge_job_id     BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id          BIGINT      NOT NULL,
+    status           VARCHAR(20) NOT NULL,
+    deleted_comments BIGINT      NOT NULL,
+    deleted_articles BIGINT      NOT NULL,
+    completed_at     DATETIME(6) NULL,
+    created_at       DATETIME(6) NULL,
+    updated_at       DATETIME(6) NULL,
+    PRIMARY KEY (purge_job_id),
+    UNIQUE KEY uk_purge_job_user_id (user_id),
+    KEY idx_purge_job_status (status)
+);
@@ -0,0 +1,2 @@
+-- conditional GET: count(*) and max(updated_at) of an article's comments from the index alone
+CREATE INDEX idx_comment_article_id_updated_at ON comment (article_id, updated_at);
@@ -0,0 +1,11 @@
+-- user, article and comment ids are assigned by the application (@SnowflakeId). Existing auto-increment ids stay
+-- as they are: Snowflake ids start above 2^22 * (ms since 2024-01-01), far beyond any existing id, so id order
+-- still follows creation order for the keyset pagination. Dropping AUTO_INCREMENT keeps an insert without an id
+-- from silently taking a value from the old counter.
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE user MODIFY user_id BIGINT NOT NULL;
+ALTER TABLE article MODIFY article_id BIGINT NOT NULL;
+ALTER TABLE comment MODIFY comment_id BIGINT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
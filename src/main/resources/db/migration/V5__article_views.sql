@@ -0,0 +1,2 @@
+-- view counts, written only in batches by ArticleViewCounter (views = views + delta)
+ALTER TABLE article ADD COLUMN views BIGINT NOT NULL DEFAULT 0;
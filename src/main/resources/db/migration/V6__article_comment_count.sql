@@ -0,0 +1,6 @@
+-- comments per article, kept by atomic updates in the comment write/delete paths and repaired by
+-- CommentCountReconciler; backfilled here from the (article_id, comment_id) index
+ALTER TABLE article ADD COLUMN comment_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE article a
+SET a.comment_count = (SELECT COUNT(*) FROM comment c WHERE c.article_id = a.article_id);
@@ -0,0 +1,2 @@
+-- author page keyset pagination: WHERE user_id = ? AND article_id < ? ORDER BY article_id DESC
+CREATE INDEX idx_article_user_id_article_id ON article (user_id, article_id);
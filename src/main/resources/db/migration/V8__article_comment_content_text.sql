@@ -0,0 +1,3 @@
+-- bodies were VARCHAR(255); Article.content is fetched lazily, so loading an article entity never reads it
+ALTER TABLE article MODIFY content MEDIUMTEXT NOT NULL;
+ALTER TABLE comment MODIFY content TEXT NOT NULL;
@@ -0,0 +1,9 @@
+-- purge jobs are looked up by a random id instead of the sequential purge_job_id, so they cannot be enumerated
+ALTER TABLE purge_job ADD COLUMN public_id VARCHAR(32) NULL;
+
+UPDATE purge_job
+SET public_id = LOWER(HEX(RANDOM_BYTES(16)));
+
+ALTER TABLE purge_job
+    MODIFY public_id VARCHAR(32) NOT NULL,
+    ADD UNIQUE KEY uk_purge_job_public_id (public_id);
@@ -0,0 +1,225 @@
+package com.devgeon.yourlog.auth;
+
+import com.devgeon.yourlog.domain.dto.ArticleDeleteRequest;
+import com.devgeon.yourlog.domain.dto.ArticleDto;
+import com.devgeon.yourlog.domain.dto.ArticleEditRequest;
+import com.devgeon.yourlog.domain.dto.ArticleWriteRequest;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not {@code @Transactional}: a test transaction would hold a connection for the whole test and hide what the
+ * request itself does.
+ */
+@Slf4j
+@SpringBootTest
+class ConnectionHoldTimeTest {
+
+    private final String BASE_URI = "/api/v1/article";
+    private final String EMAIL = "connection-hold@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
+            TITLE = "testTitle", CONTENT = "testContent";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ConnectionHoldRecorder connectionHoldRecorder;
+
+    @SpyBean
+    private BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    private final List<Integer> connectionsHeldWhileHashing = new CopyOnWriteArrayList<>();
+    private final AtomicLong hashNanos = new AtomicLong();
+
+    @BeforeEach
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+
+        doAnswer(invocation -> {
+            connectionsHeldWhileHashing.add(connectionHoldRecorder.getOpenConnections());
+            long start = System.nanoTime();
+            try {
+                return invocation.callRealMethod();
+            } finally {
+                hashNanos.addAndGet(System.nanoTime() - start);
+            }
+        }).when(bCryptPasswordEncoder).matches(any(), any());
+
+        connectionHoldRecorder.reset();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.findByEmail(EMAIL).ifPresent(user -> {
+            articleRepository.bulkDeleteByUserId(user.getId());
+            userRepository.delete(user);
+        });
+    }
+
+    @Test
+    public void connectionNotHeldWhileHashing() throws Exception {
+        // given
+        final String writeBody = objectMapper.writeValueAsString(new ArticleWriteRequest(EMAIL, PASSWORD, TITLE, CONTENT));
+        final String editBody = objectMapper.writeValueAsString(new ArticleEditRequest(EMAIL, PASSWORD, TITLE, CONTENT));
+        final String deleteBody = objectMapper.writeValueAsString(new ArticleDeleteRequest(EMAIL, PASSWORD));
+
+        // when
+        ResultActions writeResult = mockMvc.perform(post(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(writeBody));
+        Long id = objectMapper.readValue(writeResult.andReturn().getResponse().getContentAsString(), ArticleDto.class).getArticleId();
+
+        ResultActions editResult = mockMvc.perform(post(BASE_URI + "/" + id)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(editBody));
+
+        ResultActions deleteResult = mockMvc.perform(delete(BASE_URI + "/" + id)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(deleteBody));
+
+        // then
+        writeResult.andExpect(status().isCreated());
+        editResult.andExpect(status().isOk());
+        deleteResult.andExpect(status().isOk());
+
+        log.info("connection hold time: {}ms over {} connections, hash time: {}ms",
+                connectionHoldRecorder.getHoldNanos() / 1_000_000, connectionHoldRecorder.getAcquired(), hashNanos.get() / 1_000_000);
+
+        assertThat(connectionsHeldWhileHashing).hasSize(3).containsOnly(0);
+        assertThat(connectionHoldRecorder.getHoldNanos()).isLessThan(hashNanos.get());
+    }
+
+    @TestConfiguration
+    static class ConnectionHoldTimeConfiguration {
+
+        @Bean
+        static BeanPostProcessor connectionHoldRecorderPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return beanName.equals("dataSource") && bean instanceof DataSource dataSource
+                            ? new ConnectionHoldRecorder(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Counts connections checked out by the tracked (request) thread and how long they were held in total.
+     */
+    static class ConnectionHoldRecorder extends DelegatingDataSource {
+
+        private final AtomicInteger openConnections = new AtomicInteger();
+        private final AtomicInteger acquired = new AtomicInteger();
+        private final AtomicLong holdNanos = new AtomicLong();
+        private volatile Thread trackedThread;
+
+        ConnectionHoldRecorder(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return record(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return record(super.getConnection(username, password));
+        }
+
+        int getOpenConnections() {
+            return openConnections.get();
+        }
+
+        int getAcquired() {
+            return acquired.get();
+        }
+
+        long getHoldNanos() {
+            return holdNanos.get();
+        }
+
+        void reset() {
+            trackedThread = Thread.currentThread();
+            acquired.set(0);
+            holdNanos.set(0);
+        }
+
+        private Connection record(Connection connection) {
+
+            if (Thread.currentThread() != trackedThread) {
+                return connection;
+            }
+
+            long start = System.nanoTime();
+            AtomicBoolean closed = new AtomicBoolean();
+            openConnections.incrementAndGet();
+            acquired.incrementAndGet();
+
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                            openConnections.decrementAndGet();
+                            holdNanos.addAndGet(System.nanoTime() - start);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+
+}
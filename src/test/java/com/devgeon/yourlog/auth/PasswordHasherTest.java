@@ -0,0 +1,113 @@
+package com.devgeon.yourlog.auth;
+
+import com.devgeon.yourlog.exception.PasswordHashRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+class PasswordHasherTest {
+
+    final String PASSWORD = "testPassword";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    public void cleanup() {
+        release.countDown();
+        callers.shutdownNow();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    public void encodeAndMatches() {
+        // given
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(), meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+        // when
+        String encoded = passwordHasher.encode(PASSWORD);
+
+        // then
+        assertThat(passwordHasher.matches(PASSWORD, encoded)).isTrue();
+        assertThat(passwordHasher.matches("otherPassword", encoded)).isFalse();
+        assertThat(meterRegistry.get("yourlog.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("yourlog.password.hash.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void rejectWhenQueueFull() throws Exception {
+        // given
+        passwordHasher = new PasswordHasher(new BlockingPasswordEncoder(release), meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+        Future<String> running = callers.submit(() -> passwordHasher.encode(PASSWORD));
+        awaitGauge("yourlog.password.hash.active", 1);
+        Future<String> queued = callers.submit(() -> passwordHasher.encode(PASSWORD));
+        awaitGauge("yourlog.password.hash.queue", 1);
+
+        // when
+        assertThrows(PasswordHashRejectedException.class, () -> passwordHasher.encode(PASSWORD));
+
+        // then
+        assertThat(meterRegistry.get("yourlog.password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(PASSWORD);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(PASSWORD);
+    }
+
+    @Test
+    public void rejectWhenWaitTimesOut() {
+        // given
+        passwordHasher = new PasswordHasher(new BlockingPasswordEncoder(release), meterRegistry, 1, 1, Duration.ofMillis(50));
+
+        // when
+        assertThrows(PasswordHashRejectedException.class, () -> passwordHasher.encode(PASSWORD));
+
+        // then
+        assertThat(meterRegistry.get("yourlog.password.hash.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    static class BlockingPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final CountDownLatch release;
+
+        BlockingPasswordEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.devgeon.yourlog.auth;
+
+import com.devgeon.yourlog.exception.UserAuthenticationException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+class TokenProviderTest {
+
+    final Long USER_ID = 1L;
+    final String EMAIL = "test@test.com", TOKEN_SECRET = "testTokenSecret";
+    final Duration TTL = Duration.ofHours(1);
+
+    private final TokenProvider tokenProvider = new TokenProvider(TOKEN_SECRET, TTL);
+
+    @Test
+    public void verifySuccess() {
+        // given
+        final String token = tokenProvider.issue(USER_ID, EMAIL).getToken();
+
+        // when
+        TokenClaims claims = tokenProvider.verify(token);
+
+        // then
+        assertThat(claims.getUserId()).isEqualTo(USER_ID);
+        assertThat(claims.getEmail()).isEqualTo(EMAIL);
+    }
+
+    @Test
+    public void verifySuccessWithBearerPrefix() {
+        // given
+        final String token = tokenProvider.issue(USER_ID, EMAIL).getToken();
+
+        // when
+        TokenClaims claims = tokenProvider.verify("Bearer " + token);
+
+        // then
+        assertThat(claims.getUserId()).isEqualTo(USER_ID);
+    }
+
+    @Test
+    public void verifyFailByTamperedPayload() {
+        // given
+        final String token = tokenProvider.issue(USER_ID, EMAIL).getToken();
+        final String otherPayload = tokenProvider.issue(2L, EMAIL).getToken().split("\\.")[0];
+        final String tamperedToken = otherPayload + token.substring(token.indexOf('.'));
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> tokenProvider.verify(tamperedToken));
+
+        // then
+    }
+
+    @Test
+    public void verifyFailByOtherSecret() {
+        // given
+        final String token = new TokenProvider("otherTokenSecret", TTL).issue(USER_ID, EMAIL).getToken();
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> tokenProvider.verify(token));
+
+        // then
+    }
+
+    @Test
+    public void createFailByBlankSecret() {
+        // when // then
+        assertThrows(IllegalStateException.class, () -> new TokenProvider(" ", TTL));
+    }
+
+    @Test
+    public void verifyFailByExpiredToken() {
+        // given
+        final Instant issuedAt = Instant.parse("2024-09-17T10:00:00Z");
+        final TokenProvider issuer = new TokenProvider(TOKEN_SECRET, TTL, Clock.fixed(issuedAt, ZoneOffset.UTC));
+        final TokenProvider verifier = new TokenProvider(TOKEN_SECRET, TTL, Clock.fixed(issuedAt.plus(TTL), ZoneOffset.UTC));
+
+        final String token = issuer.issue(USER_ID, EMAIL).getToken();
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> verifier.verify(token));
+
+        // then
+    }
+
+    @Test
+    public void verifyFailByMalformedToken() {
+        // given
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> tokenProvider.verify("malformed"));
+        assertThrows(UserAuthenticationException.class, () -> tokenProvider.verify("mal.formed"));
+
+        // then
+    }
+
+}
@@ -0,0 +1,329 @@
+package com.devgeon.yourlog.auth;
+
+import com.devgeon.yourlog.domain.dto.UserCredentials;
+import com.devgeon.yourlog.domain.entity.UserRole;
+import com.devgeon.yourlog.domain.event.UserDeletedEvent;
+import com.devgeon.yourlog.exception.AdminRequiredException;
+import com.devgeon.yourlog.exception.RateLimitExceededException;
+import com.devgeon.yourlog.exception.UserAuthenticationException;
+import com.devgeon.yourlog.ratelimit.RequestRateLimiter;
+import com.devgeon.yourlog.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class UserAuthenticatorTest {
+
+    final Long USER_ID = 1L;
+    final String EMAIL = "test@test.com", PASSWORD = "testPassword", TOKEN_SECRET = "testTokenSecret";
+    final int EMAIL_ATTEMPTS = 5;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    @Spy
+    private TokenProvider tokenProvider = new TokenProvider(TOKEN_SECRET, Duration.ofHours(1));
+
+    @Captor
+    private ArgumentCaptor<String> passwordCaptor;
+
+    private PasswordHasher passwordHasher;
+
+    private UserCredentialsCache userCredentialsCache;
+
+    private UserAuthenticator userAuthenticator;
+
+    @BeforeEach
+    public void setup() {
+        passwordHasher = new PasswordHasher(bCryptPasswordEncoder, new SimpleMeterRegistry(), 1, 4, Duration.ofSeconds(5));
+        userCredentialsCache = new UserCredentialsCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        RequestRateLimiter requestRateLimiter = new RequestRateLimiter(new SimpleMeterRegistry(),
+                1000, Duration.ofMillis(1), EMAIL_ATTEMPTS, Duration.ofHours(1), 100);
+        userAuthenticator = new UserAuthenticator(userRepository, passwordHasher, tokenProvider, userCredentialsCache, requestRateLimiter);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    public void authenticateSuccess() {
+        // given
+        final UserCredentials CREDENTIALS = new UserCredentials(USER_ID, EMAIL, bCryptPasswordEncoder.encode(PASSWORD), null);
+
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(CREDENTIALS));
+
+        // when
+        AuthUser authUser = userAuthenticator.authenticate(null, EMAIL, PASSWORD);
+
+        // then
+        verify(userRepository, never()).updatePassword(any(), any(), any());
+
+        assertThat(authUser.getId()).isEqualTo(USER_ID);
+        assertThat(authUser.getEmail()).isEqualTo(EMAIL);
+    }
+
+    @Test
+    public void authenticateRehashesWeakerPassword() {
+        // given
+        final String weakHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        final UserCredentials CREDENTIALS = new UserCredentials(USER_ID, EMAIL, weakHash, null);
+
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(CREDENTIALS));
+
+        // when
+        userAuthenticator.authenticate(null, EMAIL, PASSWORD);
+
+        // then
+        verify(userRepository).updatePassword(eq(USER_ID), eq(weakHash), passwordCaptor.capture());
+
+        assertThat(bCryptPasswordEncoder.upgradeEncoding(passwordCaptor.getValue())).isFalse();
+        assertThat(bCryptPasswordEncoder.matches(PASSWORD, passwordCaptor.getValue())).isTrue();
+    }
+
+    @Test
+    public void authenticateSuccessWhenRehashFails() {
+        // given
+        final UserCredentials CREDENTIALS = new UserCredentials(USER_ID, EMAIL, new BCryptPasswordEncoder(4).encode(PASSWORD), null);
+
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(CREDENTIALS));
+        when(userRepository.updatePassword(any(), any(), any())).thenThrow(new QueryTimeoutException("timeout"));
+
+        // when
+        AuthUser authUser = userAuthenticator.authenticate(null, EMAIL, PASSWORD);
+
+        // then
+        assertThat(authUser.getId()).isEqualTo(USER_ID);
+    }
+
+    @Test
+    public void authenticateUsesCachedCredentials() {
+        // given
+        final UserCredentials CREDENTIALS = new UserCredentials(USER_ID, EMAIL, bCryptPasswordEncoder.encode(PASSWORD), null);
+
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(CREDENTIALS));
+
+        // when
+        userAuthenticator.authenticate(null, EMAIL, PASSWORD);
+        userAuthenticator.authenticate(null, EMAIL, PASSWORD);
+
+        // then
+        verify(userRepository, times(1)).findCredentialsByEmail(EMAIL);
+    }
+
+    @Test
+    public void authenticateFailByTooManyAttempts() {
+        // given
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < EMAIL_ATTEMPTS; i++) {
+            assertThrows(UserAuthenticationException.class, () -> userAuthenticator.authenticate(null, EMAIL, PASSWORD));
+        }
+
+        // when
+        assertThrows(RateLimitExceededException.class, () -> userAuthenticator.authenticate(null, EMAIL.toUpperCase(), PASSWORD));
+
+        // then
+        verify(userRepository, times(EMAIL_ATTEMPTS)).findCredentialsByEmail(any());
+        verify(bCryptPasswordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    public void authenticateReloadsCredentialsAfterUserDeleted() {
+        // given
+        final UserCredentials CREDENTIALS = new UserCredentials(USER_ID, EMAIL, bCryptPasswordEncoder.encode(PASSWORD), null);
+
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(CREDENTIALS), Optional.empty());
+
+        userAuthenticator.authenticate(null, EMAIL, PASSWORD);
+
+        // when
+        userCredentialsCache.onUserDeleted(new UserDeletedEvent(USER_ID, EMAIL));
+
+        // then
+        assertThrows(UserAuthenticationException.class, () -> userAuthenticator.authenticate(null, EMAIL, PASSWORD));
+    }
+
+    @Test
+    public void authenticateReloadsCredentialsAfterPurge() {
+        // given: a deleted user whose rows are still being purged, then a new account with the same email
+        final Long NEW_USER_ID = USER_ID + 1;
+        final UserCredentials DELETED = new UserCredentials(USER_ID, EMAIL, bCryptPasswordEncoder.encode(PASSWORD), LocalDateTime.now());
+        final UserCredentials REJOINED = new UserCredentials(NEW_USER_ID, EMAIL, bCryptPasswordEncoder.encode(PASSWORD), null);
+
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(DELETED), Optional.of(REJOINED));
+
+        assertThrows(UserAuthenticationException.class, () -> userAuthenticator.authenticate(null, EMAIL, PASSWORD));
+
+        // when
+        AuthUser authUser = userAuthenticator.authenticate(null, EMAIL, PASSWORD);
+
+        // then
+        assertThat(authUser.getId()).isEqualTo(NEW_USER_ID);
+    }
+
+    @Test
+    public void authenticateReloadsCredentialsAfterRehash() {
+        // given
+        final UserCredentials CREDENTIALS = new UserCredentials(USER_ID, EMAIL, new BCryptPasswordEncoder(4).encode(PASSWORD), null);
+
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(CREDENTIALS));
+
+        // when
+        userAuthenticator.authenticate(null, EMAIL, PASSWORD);
+        userAuthenticator.authenticate(null, EMAIL, PASSWORD);
+
+        // then
+        verify(userRepository, times(2)).findCredentialsByEmail(EMAIL);
+    }
+
+    @Test
+    public void authenticateFailByWrongEmail() {
+        // given
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> userAuthenticator.authenticate(null, EMAIL, PASSWORD));
+
+        // then
+    }
+
+    @Test
+    public void authenticateFailByWrongPassword() {
+        // given
+        final String PASSWORD1 = "testPassword1", PASSWORD2 = "testPassword2";
+        final UserCredentials CREDENTIALS = new UserCredentials(USER_ID, EMAIL, bCryptPasswordEncoder.encode(PASSWORD1), null);
+
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(CREDENTIALS));
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> userAuthenticator.authenticate(null, EMAIL, PASSWORD2));
+
+        // then
+    }
+
+    @Test
+    public void authenticateFailByDeletedUser() {
+        // given
+        final UserCredentials CREDENTIALS = new UserCredentials(USER_ID, EMAIL, bCryptPasswordEncoder.encode(PASSWORD), LocalDateTime.now());
+
+        when(userRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(CREDENTIALS));
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> userAuthenticator.authenticate(null, EMAIL, PASSWORD));
+
+        // then
+        verify(bCryptPasswordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    public void authenticateSuccessWithToken() {
+        // given
+        final String token = tokenProvider.issue(USER_ID, EMAIL).getToken();
+
+        when(userRepository.existsByIdAndDeletedAtIsNull(USER_ID)).thenReturn(true);
+
+        // when
+        AuthUser authUser = userAuthenticator.authenticate("Bearer " + token, null, null);
+
+        // then
+        verify(bCryptPasswordEncoder, never()).matches(any(), any());
+
+        assertThat(authUser.getId()).isEqualTo(USER_ID);
+        assertThat(authUser.getEmail()).isEqualTo(EMAIL);
+    }
+
+    @Test
+    public void authenticateFailByInvalidToken() {
+        // given
+        final String token = new TokenProvider("otherTokenSecret", Duration.ofHours(1)).issue(USER_ID, EMAIL).getToken();
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> userAuthenticator.authenticate(token, EMAIL, PASSWORD));
+
+        // then
+    }
+
+    @Test
+    public void authenticateFailByDeletedUserToken() {
+        // given
+        final String token = tokenProvider.issue(USER_ID, EMAIL).getToken();
+
+        when(userRepository.existsByIdAndDeletedAtIsNull(USER_ID)).thenReturn(false);
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> userAuthenticator.authenticate(token, null, null));
+
+        // then
+    }
+
+    @Test
+    public void authenticateAdminSuccess() {
+        // given
+        final String token = tokenProvider.issue(USER_ID, EMAIL).getToken();
+
+        when(userRepository.findRoleById(USER_ID)).thenReturn(Optional.of(UserRole.ADMIN));
+
+        // when
+        AuthUser authUser = userAuthenticator.authenticateAdmin("Bearer " + token);
+
+        // then
+        assertThat(authUser.getId()).isEqualTo(USER_ID);
+    }
+
+    @Test
+    public void authenticateAdminFailByUserRole() {
+        // given
+        final String token = tokenProvider.issue(USER_ID, EMAIL).getToken();
+
+        when(userRepository.findRoleById(USER_ID)).thenReturn(Optional.of(UserRole.USER));
+
+        // when
+        assertThrows(AdminRequiredException.class, () -> userAuthenticator.authenticateAdmin(token));
+
+        // then
+    }
+
+    @Test
+    public void authenticateAdminFailByDeletedUser() {
+        // given
+        final String token = tokenProvider.issue(USER_ID, EMAIL).getToken();
+
+        when(userRepository.findRoleById(USER_ID)).thenReturn(Optional.empty());
+
+        // when
+        assertThrows(UserAuthenticationException.class, () -> userAuthenticator.authenticateAdmin(token));
+
+        // then
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.devgeon.yourlog.benchmark;
+
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.Comment;
+import com.devgeon.yourlog.domain.entity.User;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * Comment insert throughput before and after application-assigned ids:
+ * <ul>
+ *     <li>IDENTITY: what Hibernate did before, one INSERT per persist reading back the generated key, here against a
+ *     temporary AUTO_INCREMENT copy of the comment table, since the real one no longer generates ids</li>
+ *     <li>Snowflake ids with a flush per entity, which separates the cost of the statements from that of the ids</li>
+ *     <li>Snowflake ids with a single flush that Hibernate sends as JDBC batches</li>
+ * </ul>
+ * Everything is rolled back. Run with {@code ./gradlew benchmark}; {@code -Dbenchmark.insert.rows=5000} changes the
+ * row count.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class InsertBatchingBenchmark {
+
+    private static final String CONTENT = "benchmarkContent";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void insertThroughput() {
+
+        int rows = Integer.getInteger("benchmark.insert.rows", 2000);
+
+        // warm up the connection pool, statement cache and JIT
+        insertIdentity(rows / 10);
+        insert(rows / 10, true);
+        insert(rows / 10, false);
+
+        long identityNanos = insertIdentity(rows);
+        long perEntityNanos = insert(rows, true);
+        long batchedNanos = insert(rows, false);
+
+        log.info("{} comment inserts: IDENTITY {} rows/s, Snowflake flush per entity {} rows/s, Snowflake batched {} rows/s",
+                rows, rowsPerSecond(rows, identityNanos), rowsPerSecond(rows, perEntityNanos), rowsPerSecond(rows, batchedNanos));
+    }
+
+    private long insertIdentity(int rows) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+
+            // a temporary table lives on this connection only and creating it does not end the transaction
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("create temporary table benchmark_identity_comment like comment");
+                    statement.execute("alter table benchmark_identity_comment modify comment_id bigint not null auto_increment");
+                }
+
+                long start = System.nanoTime();
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "insert into benchmark_identity_comment (content, article_id, user_id, created_at, updated_at) " +
+                                "values (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+
+                    for (int i = 0; i < rows; i++) {
+                        Timestamp now = new Timestamp(System.currentTimeMillis());
+                        insert.setString(1, CONTENT);
+                        insert.setLong(2, 1L);
+                        insert.setLong(3, 1L);
+                        insert.setTimestamp(4, now);
+                        insert.setTimestamp(5, now);
+                        insert.executeUpdate();
+                        try (ResultSet keys = insert.getGeneratedKeys()) {
+                            keys.next();
+                        }
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("drop temporary table benchmark_identity_comment");
+                }
+                return elapsed;
+            });
+        });
+    }
+
+    private long insert(int rows, boolean flushEachEntity) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+
+            User user = User.builder().email("insert-benchmark@test.com").username("benchmark").password("benchmark").build();
+            Article article = Article.builder().title("benchmark").content(CONTENT).user(user).build();
+            entityManager.persist(user);
+            entityManager.persist(article);
+            entityManager.flush();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(Comment.builder().content(CONTENT).article(article).user(user).build());
+                if (flushEachEntity) {
+                    entityManager.flush();
+                }
+            }
+            entityManager.flush();
+            long elapsed = System.nanoTime() - start;
+
+            entityManager.clear();
+            return elapsed;
+        });
+    }
+
+    private static long rowsPerSecond(int rows, long nanos) {
+        return Math.round(rows / (nanos / 1_000_000_000.0));
+    }
+
+}
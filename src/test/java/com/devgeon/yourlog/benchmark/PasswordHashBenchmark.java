@@ -0,0 +1,62 @@
+package com.devgeon.yourlog.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Reports per-hash BCrypt latency for each strength so {@code yourlog.password.bcrypt-strength} can be chosen
+ * against the login latency budget. Run with {@code ./gradlew benchmark} on the target hardware;
+ * {@code -Dbenchmark.bcrypt.strengths=10,12} and {@code -Dbenchmark.bcrypt.iterations=50} narrow the run.
+ */
+@Slf4j
+@Tag("benchmark")
+class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "benchmarkPassword";
+    private static final int WARMUP = 3;
+
+    @Test
+    public void bcryptLatencyPerStrength() {
+
+        int[] strengths = Arrays.stream(System.getProperty("benchmark.bcrypt.strengths", "8,9,10,11,12,13").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int iterations = Integer.getInteger("benchmark.bcrypt.iterations", 20);
+
+        log.info("{} iterations per strength, {} cores", iterations, Runtime.getRuntime().availableProcessors());
+
+        for (int strength : strengths) {
+
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            String encoded = encoder.encode(PASSWORD);
+            for (int i = 0; i < WARMUP; i++) {
+                encoder.matches(PASSWORD, encoded);
+            }
+
+            long[] nanos = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                encoder.matches(PASSWORD, encoded);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+
+            log.info("strength={} p50={}ms p99={}ms max={}ms", strength,
+                    millis(percentile(nanos, 0.50)), millis(percentile(nanos, 0.99)), millis(nanos[nanos.length - 1]));
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.devgeon.yourlog.config;
+
+import com.devgeon.yourlog.repository.ArticleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The replica is the same database under a second pool, which is enough to see which pool a transaction used.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "yourlog.datasource.replica.jdbc-url=${YOURLOG_DB_URL}",
+        "yourlog.datasource.replica.username=${YOURLOG_DB_USERNAME}",
+        "yourlog.datasource.replica.password=${YOURLOG_DB_PASSWORD}"
+})
+class DataSourceRoutingTest {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void readOnlyTransactionUsesReplica() {
+        // given
+        final double primary = acquired("primary"), replica = acquired("replica");
+
+        // when
+        articleRepository.findIdsByUserId(0L, Limit.of(1));
+
+        // then
+        assertThat(acquired("replica")).isEqualTo(replica + 1);
+        assertThat(acquired("primary")).isEqualTo(primary);
+    }
+
+    @Test
+    public void readWriteTransactionUsesPrimary() {
+        // given
+        final double primary = acquired("primary"), replica = acquired("replica");
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            articleRepository.findIdsByUserId(0L, Limit.of(1));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(acquired("primary")).isEqualTo(primary + 1);
+        assertThat(acquired("replica")).isEqualTo(replica);
+    }
+
+    @Test
+    public void readOnlyTransactionSkipsDirtyChecking() {
+        // given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // when
+        Boolean defaultReadOnly = readOnly.execute(status -> entityManager.unwrap(Session.class).isDefaultReadOnly());
+        FlushMode flushMode = readOnly.execute(status -> entityManager.unwrap(Session.class).getHibernateFlushMode());
+
+        // then
+        assertThat(defaultReadOnly).isTrue();
+        assertThat(flushMode).isEqualTo(FlushMode.MANUAL);
+    }
+
+    // the pool registers its meters when it opens its first connection
+    private double acquired(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.devgeon.yourlog.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Metrics export is off in tests unless observability is auto-configured.
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void scrapeExposesRequestServiceRepositoryAndPoolMetrics() throws Exception {
+        // given
+        mockMvc.perform(get("/api/v1/article")).andExpect(status().isOk());
+
+        // when
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/api/v1/article\"")
+                .contains("yourlog_service_seconds{")
+                .contains("method=\"list\"")
+                .contains("spring_data_repository_invocations_seconds{")
+                .contains("quantile=\"0.99\"")
+                .contains("hikaricp_connections_active{");
+    }
+
+}
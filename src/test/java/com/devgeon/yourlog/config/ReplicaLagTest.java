@@ -0,0 +1,201 @@
+package com.devgeon.yourlog.config;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.domain.dto.ArticleDetailDto;
+import com.devgeon.yourlog.domain.dto.ArticleEditRequest;
+import com.devgeon.yourlog.domain.dto.ArticleVersion;
+import com.devgeon.yourlog.domain.dto.ArticleWriteRequest;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import com.devgeon.yourlog.service.ArticleSearchIndex;
+import com.devgeon.yourlog.service.ArticleService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The replica is the test database seen through one connection held in a consistent snapshot, so while it is frozen
+ * it keeps returning what was committed before, like a replica that stopped applying changes.
+ * <p>
+ * Not {@code @Transactional}: the snapshot only hides committed changes.
+ */
+@Slf4j
+@SpringBootTest
+class ReplicaLagTest {
+
+    final String EMAIL = "replica-lag@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
+            TITLE = "staletitle", CONTENT = "stalecontent", NEW_TITLE = "freshtitle", NEW_CONTENT = "freshcontent";
+
+    @Autowired
+    private LaggingReplicaDataSource replica;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private AuthUser authUser;
+
+    @BeforeEach
+    public void setup() {
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        authUser = new AuthUser(user.getId(), EMAIL);
+    }
+
+    @AfterEach
+    public void cleanup() throws SQLException {
+        replica.catchUp();
+        articleRepository.bulkDeleteByUserId(authUser.getId());
+        userRepository.deleteById(authUser.getId());
+    }
+
+    @Test
+    public void editIsNotCachedOrIndexedStale() throws SQLException {
+        // given
+        Long articleId = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, CONTENT)).getArticleId();
+        articleService.read(articleId, null, 20);
+        replica.freeze();
+
+        // when
+        articleService.edit(articleId, new ArticleEditRequest(null, null, NEW_TITLE, NEW_CONTENT));
+        ArticleDetailDto read = articleService.read(articleId, null, 20);
+
+        // then
+        assertThat(articleRepository.findSummariesByIdIn(List.of(articleId)).getFirst().getTitle())
+                .as("the replica lags").isEqualTo(TITLE);
+
+        assertThat(read.getTitle()).isEqualTo(NEW_TITLE);
+        assertThat(read.getContent()).isEqualTo(NEW_CONTENT);
+        assertThat(articleService.read(articleId, null, 20).getTitle()).isEqualTo(NEW_TITLE);
+        assertThat(articleSearchIndex.search(NEW_CONTENT, null, 20).articleIds()).containsExactly(articleId);
+        assertThat(articleSearchIndex.search(CONTENT, null, 20).articleIds()).isEmpty();
+    }
+
+    @Test
+    public void writeIsReadableAndIndexed() throws SQLException {
+        // given
+        replica.freeze();
+
+        // when
+        Long articleId = articleService.write(authUser, new ArticleWriteRequest(null, null, NEW_TITLE, NEW_CONTENT)).getArticleId();
+
+        // then
+        assertThat(articleRepository.findSummariesByIdIn(List.of(articleId))).as("the replica lags").isEmpty();
+
+        assertThat(articleService.read(articleId, null, 20).getTitle()).isEqualTo(NEW_TITLE);
+        assertThat(articleSearchIndex.search(NEW_CONTENT, null, 20).articleIds()).containsExactly(articleId);
+    }
+
+    @Test
+    public void editChangesVersion() throws SQLException {
+        // given
+        Long articleId = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, CONTENT)).getArticleId();
+        ArticleVersion before = articleService.version(articleId);
+        replica.freeze();
+
+        // when
+        articleService.edit(articleId, new ArticleEditRequest(null, null, NEW_TITLE, NEW_CONTENT));
+        ArticleVersion after = articleService.version(articleId);
+
+        // then
+        assertThat(articleRepository.findSummariesByIdIn(List.of(articleId)).getFirst().getTitle())
+                .as("the replica lags").isEqualTo(TITLE);
+
+        assertThat(after.getETag()).isNotEqualTo(before.getETag());
+    }
+
+    @TestConfiguration
+    static class ReplicaConfiguration {
+
+        // takes the place of the Hikari replica pool, which is only created when a replica url is set
+        @Bean
+        public LaggingReplicaDataSource replicaDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+            return new LaggingReplicaDataSource(primaryDataSource);
+        }
+    }
+
+    /**
+     * Up to date until {@link #freeze()}; from then on the freezing thread gets a connection whose reads all run in
+     * the snapshot taken at that moment, and whose transaction control is ignored so the snapshot survives. Other
+     * threads, such as scheduled tasks, keep getting ordinary connections.
+     */
+    static class LaggingReplicaDataSource extends DelegatingDataSource {
+
+        private volatile Connection snapshot;
+        private volatile Thread frozenFor;
+
+        LaggingReplicaDataSource(DataSource target) {
+            super(target);
+        }
+
+        void freeze() throws SQLException {
+            Connection connection = obtainTargetDataSource().getConnection();
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("start transaction with consistent snapshot");
+            }
+            snapshot = connection;
+            frozenFor = Thread.currentThread();
+        }
+
+        void catchUp() throws SQLException {
+            Connection connection = snapshot;
+            frozenFor = null;
+            snapshot = null;
+            if (connection != null) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+                connection.close();
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = snapshot;
+            if (connection == null || Thread.currentThread() != frozenFor) {
+                return super.getConnection();
+            }
+
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "close", "commit", "rollback", "setAutoCommit", "setReadOnly", "setTransactionIsolation" -> null;
+                        case "getAutoCommit", "isClosed" -> false;
+                        case "isReadOnly" -> true;
+                        default -> {
+                            try {
+                                yield method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        }
+                    });
+        }
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.devgeon.yourlog.controller;
+
+import com.devgeon.yourlog.auth.TokenProvider;
+import com.devgeon.yourlog.domain.dto.ArticleImportResponse;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.domain.entity.UserRole;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not {@code @Transactional}: the import commits chunk by chunk in transactions of its own.
+ */
+@Slf4j
+@SpringBootTest(properties = {"yourlog.import.chunk-size=2", "yourlog.import.max-line-length=150"})
+class AdminControllerTest {
+
+    private final String IMPORT_URI = "/api/v1/admin/import", REBUILD_URI = "/api/v1/admin/search/rebuild";
+    private final String EMAIL = "admin-import@test.com", USERNAME = "testUsername", PASSWORD = "testPassword";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).role(UserRole.ADMIN).build());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        commentRepository.bulkDeleteByArticleUserId(user.getId());
+        articleRepository.bulkDeleteByUserId(user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    public void importSuccess() throws Exception {
+        // given
+        final String body = """
+                {"title":"title1","content":"content1","comments":[{"content":"comment1"},{"content":"comment2"}]}
+                {"title":"title2","content":"content2"}
+
+                {"title":"title3","content":"content3","comments":[{"content":"comment3"}]}
+                """;
+        final String token = tokenProvider.issue(user.getId(), user.getEmail()).getToken();
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post(IMPORT_URI)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+                .content(body));
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        ArticleImportResponse importResponse = objectMapper.readValue(
+                resultActions.andReturn().getResponse().getContentAsString(), ArticleImportResponse.class);
+
+        assertThat(importResponse.getImportedArticles()).isEqualTo(3);
+        assertThat(importResponse.getImportedComments()).isEqualTo(3);
+        assertThat(importResponse.getFailedLines()).isZero();
+        assertThat(articleRepository.findIdsByUserId(user.getId(), Limit.unlimited())).hasSize(3);
+        assertThat(commentRepository.findIdsByArticleUserId(user.getId(), Limit.unlimited())).hasSize(3);
+    }
+
+    @Test
+    public void importSkipsInvalidLines() throws Exception {
+        // given
+        final String body = """
+                {"title":"title1","content":"content1"}
+                {"title":"title2","content":
+                {"title":" ","content":"content3"}
+                {"title":"title4","content":"content4","comments":[{"content":""}]}
+                {"title":"title5","content":"content5"}
+                """;
+        final String token = tokenProvider.issue(user.getId(), user.getEmail()).getToken();
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post(IMPORT_URI)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+                .content(body));
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        ArticleImportResponse importResponse = objectMapper.readValue(
+                resultActions.andReturn().getResponse().getContentAsString(), ArticleImportResponse.class);
+
+        assertThat(importResponse.getImportedArticles()).isEqualTo(2);
+        assertThat(importResponse.getFailedLines()).isEqualTo(3);
+        assertThat(importResponse.getErrors()).extracting("line").containsExactly(2L, 3L, 4L);
+        assertThat(articleRepository.findIdsByUserId(user.getId(), Limit.unlimited())).hasSize(2);
+    }
+
+    @Test
+    public void importSkipsNullComment() throws Exception {
+        // given
+        final String body = """
+                {"title":"title1","content":"content1","comments":[{"content":"comment1"}]}
+                {"title":"title2","content":"content2","comments":[null]}
+                {"title":"title3","content":"content3"}
+                """;
+        final String token = tokenProvider.issue(user.getId(), user.getEmail()).getToken();
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post(IMPORT_URI)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+                .content(body));
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        ArticleImportResponse importResponse = objectMapper.readValue(
+                resultActions.andReturn().getResponse().getContentAsString(), ArticleImportResponse.class);
+
+        assertThat(importResponse.getImportedArticles()).isEqualTo(2);
+        assertThat(importResponse.getImportedComments()).isEqualTo(1);
+        assertThat(importResponse.getFailedLines()).isEqualTo(1);
+        assertThat(importResponse.getErrors()).extracting("line").containsExactly(2L);
+        assertThat(importResponse.getErrors()).extracting("message").singleElement().asString().startsWith("comments[0]");
+        assertThat(articleRepository.findIdsByUserId(user.getId(), Limit.unlimited())).hasSize(2);
+    }
+
+    @Test
+    public void importSkipsOversizeLines() throws Exception {
+        // given
+        final String body = "{\"title\":\"title1\",\"content\":\"content1\"}\n"
+                + "{\"title\":\"title2\",\"content\":\"" + "x".repeat(200) + "\"}\n"
+                + "{\"title\":\"title3\",\"content\":\"content3\"}\n"
+                // unterminated, so it only ends with the stream
+                + "{\"title\":\"title4\",\"content\":\"" + "x".repeat(200);
+        final String token = tokenProvider.issue(user.getId(), user.getEmail()).getToken();
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post(IMPORT_URI)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+                .content(body));
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        ArticleImportResponse importResponse = objectMapper.readValue(
+                resultActions.andReturn().getResponse().getContentAsString(), ArticleImportResponse.class);
+
+        assertThat(importResponse.getImportedArticles()).isEqualTo(2);
+        assertThat(importResponse.getFailedLines()).isEqualTo(2);
+        assertThat(importResponse.getErrors()).extracting("line").containsExactly(2L, 4L);
+        assertThat(articleRepository.findIdsByUserId(user.getId(), Limit.unlimited())).hasSize(2);
+    }
+
+    @Test
+    public void importFailByNonAdmin() throws Exception {
+        // given
+        User member = userRepository.save(User.builder().email("admin-import-member@test.com").username(USERNAME).password(PASSWORD).build());
+        final String body = """
+                {"title":"title1","content":"content1"}
+                """;
+        final String token = tokenProvider.issue(member.getId(), member.getEmail()).getToken();
+
+        try {
+            // when
+            ResultActions resultActions = mockMvc.perform(post(IMPORT_URI)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+                    .content(body));
+
+            // then
+            resultActions.andExpect(status().isForbidden());
+
+            assertThat(articleRepository.findIdsByUserId(member.getId(), Limit.unlimited())).isEmpty();
+        } finally {
+            userRepository.deleteById(member.getId());
+        }
+    }
+
+    @Test
+    public void importFailByMissingToken() throws Exception {
+        // given
+        final String body = """
+                {"title":"title1","content":"content1"}
+                """;
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post(IMPORT_URI)
+                .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+                .content(body));
+
+        // then
+        resultActions.andExpect(status().isUnauthorized());
+
+        assertThat(articleRepository.findIdsByUserId(user.getId(), Limit.unlimited())).isEmpty();
+    }
+
+    @Test
+    public void rebuildSearchIndexSuccess() throws Exception {
+        // given
+        final String token = tokenProvider.issue(user.getId(), user.getEmail()).getToken();
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post(REBUILD_URI)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        // then
+        resultActions.andExpect(status().isOk());
+    }
+
+    @Test
+    public void rebuildSearchIndexFailByNonAdmin() throws Exception {
+        // given
+        User member = userRepository.save(User.builder().email("admin-rebuild-member@test.com").username(USERNAME).password(PASSWORD).build());
+        final String token = tokenProvider.issue(member.getId(), member.getEmail()).getToken();
+
+        try {
+            // when
+            ResultActions resultActions = mockMvc.perform(post(REBUILD_URI)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+            // then
+            resultActions.andExpect(status().isForbidden());
+        } finally {
+            userRepository.deleteById(member.getId());
+        }
+    }
+
+}
@@ -1,13 +1,21 @@
 package com.devgeon.yourlog.controller;
 
+import com.devgeon.yourlog.auth.TokenProvider;
+import com.devgeon.yourlog.domain.dto.ArticleDetailDto;
 import com.devgeon.yourlog.domain.dto.ArticleDto;
 import com.devgeon.yourlog.domain.dto.ArticleEditRequest;
+import com.devgeon.yourlog.domain.dto.ArticleSummaryDto;
 import com.devgeon.yourlog.domain.dto.ArticleWriteRequest;
+import com.devgeon.yourlog.domain.dto.CommentDto;
+import com.devgeon.yourlog.domain.dto.CursorPage;
 import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.Comment;
 import com.devgeon.yourlog.domain.entity.User;
 import com.devgeon.yourlog.exception.ArticleNotFoundException;
 import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
 import com.devgeon.yourlog.repository.UserRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,6 +35,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -53,9 +63,15 @@ class ArticleControllerTest {
     @Autowired
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private CommentRepository commentRepository;
+
     @Autowired
     private BCryptPasswordEncoder bCryptPasswordEncoder;
 
+    @Autowired
+    private TokenProvider tokenProvider;
+
     @BeforeEach
     public void mockMvcSetup() {
         this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
@@ -86,6 +102,32 @@ class ArticleControllerTest {
         assertThat(article.getContent()).isEqualTo(CONTENT);
     }
 
+    @Test
+    public void writeSuccessWithToken() throws Exception {
+        // given
+        final ArticleWriteRequest writeRequest = new ArticleWriteRequest(null, null, TITLE, CONTENT);
+        final String requestBody = objectMapper.writeValueAsString(writeRequest);
+
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        String token = tokenProvider.issue(user.getId(), user.getEmail()).getToken();
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post(BASE_URI)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(requestBody));
+
+        // then
+        resultActions.andExpect(status().isCreated());
+
+        String response = resultActions.andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(response, ArticleDto.class).getArticleId();
+        Article article = articleRepository.findById(id).orElseThrow(ArticleNotFoundException::new);
+
+        assertThat(article.getUser().getEmail()).isEqualTo(EMAIL);
+        assertThat(article.getTitle()).isEqualTo(TITLE);
+    }
+
     @Test
     public void writeFailByNullTitle() throws Exception {
         // given
@@ -371,4 +413,118 @@ class ArticleControllerTest {
         assertThat(articleRepository.findById(article.getId())).isEmpty();
     }
 
+    @Test
+    public void listSuccess() throws Exception {
+        // given
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        Article article1 = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+        Article article2 = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+        Article article3 = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+
+        // when
+        ResultActions firstResult = mockMvc.perform(get(BASE_URI)
+                .param("before", String.valueOf(article3.getId() + 1))
+                .param("size", "2"));
+        CursorPage<ArticleSummaryDto> firstPage = objectMapper.readValue(
+                firstResult.andReturn().getResponse().getContentAsString(), new TypeReference<>() {});
+
+        ResultActions secondResult = mockMvc.perform(get(BASE_URI)
+                .param("before", String.valueOf(firstPage.getNextCursor()))
+                .param("size", "2"));
+        CursorPage<ArticleSummaryDto> secondPage = objectMapper.readValue(
+                secondResult.andReturn().getResponse().getContentAsString(), new TypeReference<>() {});
+
+        // then
+        firstResult.andExpect(status().isOk());
+        secondResult.andExpect(status().isOk());
+
+        assertThat(firstPage.getContent()).extracting(ArticleSummaryDto::getArticleId).containsExactly(article3.getId(), article2.getId());
+        assertThat(firstPage.getContent().getFirst().getEmail()).isEqualTo(EMAIL);
+        assertThat(firstPage.getNextCursor()).isEqualTo(article2.getId());
+        assertThat(secondPage.getContent().getFirst().getArticleId()).isEqualTo(article1.getId());
+    }
+
+    @Test
+    public void readSuccess() throws Exception {
+        // given
+        final String COMMENT_CONTENT = "testCommentContent";
+
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        Article article = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+        Comment comment1 = commentRepository.save(Comment.builder().content(COMMENT_CONTENT).article(article).user(user).build());
+        Comment comment2 = commentRepository.save(Comment.builder().content(COMMENT_CONTENT).article(article).user(user).build());
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get(BASE_URI + "/" + article.getId())
+                .param("size", "1"));
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        ArticleDetailDto articleDetailDto = objectMapper.readValue(resultActions.andReturn().getResponse().getContentAsString(), ArticleDetailDto.class);
+
+        assertThat(articleDetailDto.getArticleId()).isEqualTo(article.getId());
+        assertThat(articleDetailDto.getEmail()).isEqualTo(EMAIL);
+        assertThat(articleDetailDto.getContent()).isEqualTo(CONTENT);
+        assertThat(articleDetailDto.getComments().getContent()).extracting(CommentDto::getCommentId).containsExactly(comment1.getId());
+        assertThat(articleDetailDto.getComments().getNextCursor()).isEqualTo(comment1.getId());
+        assertThat(comment2.getId()).isGreaterThan(comment1.getId());
+    }
+
+    @Test
+    public void readFailByWrongId() throws Exception {
+        // given
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        Article article = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+        articleRepository.delete(article);
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get(BASE_URI + "/" + article.getId()));
+
+        // then
+        resultActions.andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void readNotModified() throws Exception {
+        // given
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        Article article = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+
+        ResultActions firstResult = mockMvc.perform(get(BASE_URI + "/" + article.getId()));
+        String eTag = firstResult.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get(BASE_URI + "/" + article.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // then
+        firstResult.andExpect(status().isOk());
+        resultActions.andExpect(status().isNotModified());
+
+        assertThat(eTag).isNotBlank();
+        assertThat(firstResult.andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED)).isNotBlank();
+        assertThat(resultActions.andReturn().getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    public void readModifiedByNewComment() throws Exception {
+        // given
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        Article article = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+
+        String eTag = mockMvc.perform(get(BASE_URI + "/" + article.getId())).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        commentRepository.save(Comment.builder().content(CONTENT).article(article).user(user).build());
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get(BASE_URI + "/" + article.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        assertThat(resultActions.andReturn().getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
 }
@@ -0,0 +1,107 @@
+package com.devgeon.yourlog.controller;
+
+import com.devgeon.yourlog.domain.dto.ArticleDetailDto;
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.Comment;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ArticleReadStatementCountTest {
+
+    private final String BASE_URI = "/api/v1/article";
+    private final String EMAIL = "statement-count@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
+            TITLE = "testTitle", CONTENT = "testContent";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @BeforeEach
+    public void mockMvcSetup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 30})
+    public void readUsesFixedStatements(int commentCount) throws Exception {
+        // given
+        User author = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        Article article = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(author).build());
+
+        // every comment by a different user, so a lazy or eager user load per row would show up
+        for (int i = 0; i < commentCount; i++) {
+            User commenter = userRepository.save(User.builder().email(i + EMAIL).username(USERNAME).password(PASSWORD).build());
+            commentRepository.save(Comment.builder().content(CONTENT).article(article).user(commenter).build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get(BASE_URI + "/" + article.getId()));
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        ArticleDetailDto articleDetailDto = objectMapper.readValue(resultActions.andReturn().getResponse().getContentAsString(), ArticleDetailDto.class);
+
+        assertThat(articleDetailDto.getEmail()).isEqualTo(EMAIL);
+        assertThat(articleDetailDto.getComments().getContent()).hasSize(Math.min(commentCount, 20));
+        // version check, article, comment page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        // the article itself now comes from the cache
+        statistics.clear();
+        mockMvc.perform(get(BASE_URI + "/" + article.getId())).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+}
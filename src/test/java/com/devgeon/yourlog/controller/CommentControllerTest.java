@@ -4,6 +4,7 @@ import com.devgeon.yourlog.domain.dto.CommentDeleteRequest;
 import com.devgeon.yourlog.domain.dto.CommentDto;
 import com.devgeon.yourlog.domain.dto.CommentEditRequest;
 import com.devgeon.yourlog.domain.dto.CommentWriteRequest;
+import com.devgeon.yourlog.domain.dto.CursorPage;
 import com.devgeon.yourlog.domain.entity.Article;
 import com.devgeon.yourlog.domain.entity.Comment;
 import com.devgeon.yourlog.domain.entity.User;
@@ -11,6 +12,7 @@ import com.devgeon.yourlog.exception.CommentNotFoundException;
 import com.devgeon.yourlog.repository.ArticleRepository;
 import com.devgeon.yourlog.repository.CommentRepository;
 import com.devgeon.yourlog.repository.UserRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
@@ -29,6 +32,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -290,5 +294,73 @@ class CommentControllerTest {
         assertThat(commentRepository.findById(comment.getId())).isEmpty();
     }
 
+    @Test
+    public void listSuccess() throws Exception {
+        // given
+        final User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        final Article article = articleRepository.save(Article.builder().title(TITLE).content(ARTICLE_CONTENT).user(user).build());
+        final Comment comment1 = commentRepository.save(Comment.builder().content(COMMENT_CONTENT).article(article).user(user).build());
+        final Comment comment2 = commentRepository.save(Comment.builder().content(COMMENT_CONTENT).article(article).user(user).build());
+        final Comment comment3 = commentRepository.save(Comment.builder().content(COMMENT_CONTENT).article(article).user(user).build());
+
+        // when
+        ResultActions firstResult = mockMvc.perform(get(String.format(BASE_URI, article.getId()))
+                .param("size", "2"));
+        CursorPage<CommentDto> firstPage = objectMapper.readValue(
+                firstResult.andReturn().getResponse().getContentAsString(), new TypeReference<>() {});
+
+        ResultActions secondResult = mockMvc.perform(get(String.format(BASE_URI, article.getId()))
+                .param("after", String.valueOf(firstPage.getNextCursor()))
+                .param("size", "2"));
+        CursorPage<CommentDto> secondPage = objectMapper.readValue(
+                secondResult.andReturn().getResponse().getContentAsString(), new TypeReference<>() {});
+
+        // then
+        firstResult.andExpect(status().isOk());
+        secondResult.andExpect(status().isOk());
+
+        assertThat(firstPage.getContent()).extracting(CommentDto::getCommentId).containsExactly(comment1.getId(), comment2.getId());
+        assertThat(firstPage.getContent().getFirst().getEmail()).isEqualTo(EMAIL);
+        assertThat(secondPage.getContent()).extracting(CommentDto::getCommentId).containsExactly(comment3.getId());
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void listFailByWrongArticleId() throws Exception {
+        // given
+        final User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        final Article article = articleRepository.save(Article.builder().title(TITLE).content(ARTICLE_CONTENT).user(user).build());
+        articleRepository.delete(article);
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get(String.format(BASE_URI, article.getId())));
+
+        // then
+        resultActions.andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void listNotModifiedUntilCommentDeleted() throws Exception {
+        // given
+        final User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        final Article article = articleRepository.save(Article.builder().title(TITLE).content(ARTICLE_CONTENT).user(user).build());
+        final Comment comment = commentRepository.save(Comment.builder().content(COMMENT_CONTENT).article(article).user(user).build());
+
+        String eTag = mockMvc.perform(get(String.format(BASE_URI, article.getId())))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        ResultActions notModifiedResult = mockMvc.perform(get(String.format(BASE_URI, article.getId()))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        commentRepository.delete(comment);
+
+        ResultActions modifiedResult = mockMvc.perform(get(String.format(BASE_URI, article.getId()))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // then
+        notModifiedResult.andExpect(status().isNotModified());
+        modifiedResult.andExpect(status().isOk());
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.devgeon.yourlog.controller;
+
+import com.devgeon.yourlog.domain.dto.UserLoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "yourlog.ratelimit.address.capacity=3", "yourlog.ratelimit.address.refill=1h",
+        "yourlog.ratelimit.email.capacity=2", "yourlog.ratelimit.email.refill=1h"})
+@Transactional
+class RateLimitTest {
+
+    private final String EMAIL = "rate-limit@test.com", PASSWORD = "testPassword";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @BeforeEach
+    public void mockMvcSetup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    public void throttleByAddress() throws Exception {
+        // given
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/v1/article").with(from("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/article").with(from("10.0.0.1")));
+
+        // then
+        resultActions.andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3600"));
+        mockMvc.perform(get("/api/v1/article").with(from("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void throttleByEmailAcrossAddresses() throws Exception {
+        // given
+        final String requestBody = objectMapper.writeValueAsString(new UserLoginRequest(EMAIL, PASSWORD));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/user/login").with(from("10.0.1." + i))
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(requestBody))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/api/v1/user/login").with(from("10.0.1.2"))
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(requestBody));
+
+        // then
+        resultActions.andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+}
@@ -1,8 +1,18 @@
 package com.devgeon.yourlog.controller;
 
+import com.devgeon.yourlog.auth.TokenClaims;
+import com.devgeon.yourlog.auth.TokenProvider;
+import com.devgeon.yourlog.domain.dto.PurgeJobDto;
 import com.devgeon.yourlog.domain.dto.UserDeleteRequest;
 import com.devgeon.yourlog.domain.dto.UserJoinRequest;
+import com.devgeon.yourlog.domain.dto.UserLoginRequest;
+import com.devgeon.yourlog.domain.dto.UserLoginResponse;
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.Comment;
+import com.devgeon.yourlog.domain.entity.PurgeStatus;
 import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
 import com.devgeon.yourlog.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
@@ -20,10 +31,10 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
-import java.util.List;
-
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Slf4j
@@ -50,6 +61,15 @@ class UserControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
     @BeforeEach
     public void mockMvcSetup() {
         this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
@@ -69,12 +89,51 @@ class UserControllerTest {
         // then
         resultActions.andExpect(status().isCreated());
 
-        List<User> users = userRepository.findByEmail(EMAIL);
+        User user = userRepository.findByEmail(EMAIL).orElseThrow();
+
+        assertThat(user.getEmail()).isEqualTo(EMAIL);
+        assertThat(user.getUsername()).isEqualTo(USERNAME);
+        assertThat(bCryptPasswordEncoder.matches(PASSWORD, user.getPassword())).isTrue();
+    }
+
+    @Test
+    public void loginSuccess() throws Exception {
+        // given
+        final UserLoginRequest loginRequest = new UserLoginRequest(EMAIL, PASSWORD);
+        final String requestBody = objectMapper.writeValueAsString(loginRequest);
+
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post(BASE_URI + "/login")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(requestBody));
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        String response = resultActions.andReturn().getResponse().getContentAsString();
+        TokenClaims claims = tokenProvider.verify(objectMapper.readValue(response, UserLoginResponse.class).getToken());
+
+        assertThat(claims.getUserId()).isEqualTo(user.getId());
+        assertThat(claims.getEmail()).isEqualTo(EMAIL);
+    }
+
+    @Test
+    public void loginFailByWrongPassword() throws Exception {
+        // given
+        final UserLoginRequest loginRequest = new UserLoginRequest(EMAIL, "wrongPassword");
+        final String requestBody = objectMapper.writeValueAsString(loginRequest);
+
+        userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
 
-        assertThat(users.size()).isEqualTo(1);
-        assertThat(users.getFirst().getEmail()).isEqualTo(EMAIL);
-        assertThat(users.getFirst().getUsername()).isEqualTo(USERNAME);
-        assertThat(bCryptPasswordEncoder.matches(PASSWORD, users.getFirst().getPassword())).isTrue();
+        // when
+        ResultActions resultActions = mockMvc.perform(post(BASE_URI + "/login")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(requestBody));
+
+        // then
+        resultActions.andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -93,9 +152,121 @@ class UserControllerTest {
         // then
         resultActions.andExpect(status().isOk());
 
-        List<User> users = userRepository.findByEmail(EMAIL);
+        assertThat(userRepository.findByEmail(EMAIL)).isEmpty();
+    }
+
+    @Test
+    public void deleteSuccessWithOthersCommentsOnArticles() throws Exception {
+        // given
+        final String OTHER_EMAIL = "other@test.com";
+
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        User other = userRepository.save(User.builder().email(OTHER_EMAIL).username(USERNAME).password(PASSWORD).build());
+        Article article = articleRepository.save(Article.builder().title("testTitle").content("testContent").user(user).build());
+        Article otherArticle = articleRepository.save(Article.builder().title("testTitle").content("testContent").user(other).build());
+        Comment otherComment = commentRepository.save(Comment.builder().content("testComment").article(article).user(other).build());
+        Comment ownComment = commentRepository.save(Comment.builder().content("testComment").article(otherArticle).user(user).build());
+        Comment keptComment = commentRepository.save(Comment.builder().content("testComment").article(otherArticle).user(other).build());
+
+        String token = tokenProvider.issue(user.getId(), EMAIL).getToken();
 
-        assertThat(users).isEmpty();
+        // when
+        ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.delete(BASE_URI)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new UserDeleteRequest(null, null))));
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        assertThat(userRepository.findById(user.getId())).isEmpty();
+        assertThat(articleRepository.findById(article.getId())).isEmpty();
+        assertThat(commentRepository.findById(otherComment.getId())).isEmpty();
+        assertThat(commentRepository.findById(ownComment.getId())).isEmpty();
+        assertThat(articleRepository.findById(otherArticle.getId())).isPresent();
+        assertThat(commentRepository.findById(keptComment.getId())).isPresent();
+    }
+
+    @Test
+    public void deleteAsyncSuccess() throws Exception {
+        // given
+        final UserDeleteRequest deleteRequest = new UserDeleteRequest(EMAIL, PASSWORD);
+        final String requestBody = objectMapper.writeValueAsString(deleteRequest);
+
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(bCryptPasswordEncoder.encode(PASSWORD)).build());
+        Article article = articleRepository.save(Article.builder().title("testTitle").content("testContent").user(user).build());
+
+        // when
+        ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.delete(BASE_URI)
+                .param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(requestBody));
+
+        // then
+        resultActions.andExpect(status().isAccepted());
+
+        PurgeJobDto purgeJobDto = objectMapper.readValue(resultActions.andReturn().getResponse().getContentAsString(), PurgeJobDto.class);
+
+        assertThat(purgeJobDto.getStatus()).isEqualTo(PurgeStatus.IN_PROGRESS);
+        assertThat(purgeJobDto.getJobId()).hasSize(32);
+        assertThat(resultActions.andReturn().getResponse().getHeader(HttpHeaders.LOCATION)).isEqualTo(BASE_URI + "/purge/" + purgeJobDto.getJobId());
+
+        mockMvc.perform(get(BASE_URI + "/purge/" + purgeJobDto.getJobId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post(BASE_URI + "/login")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UserLoginRequest(EMAIL, PASSWORD))))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/article/" + article.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void listArticlesSuccess() throws Exception {
+        // given
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        User other = userRepository.save(User.builder().email("other@test.com").username(USERNAME).password(PASSWORD).build());
+        Article first = articleRepository.save(Article.builder().title("testTitle1").content("testContent").user(user).build());
+        Article second = articleRepository.save(Article.builder().title("testTitle2").content("testContent").user(user).build());
+        articleRepository.save(Article.builder().title("testTitle3").content("testContent").user(other).build());
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get(BASE_URI + "/" + EMAIL + "/article").param("size", "1"));
+        ResultActions nextActions = mockMvc.perform(get(BASE_URI + "/" + EMAIL + "/article")
+                .param("before", second.getId().toString())
+                .param("size", "1"));
+
+        // then
+        resultActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].articleId").value(second.getId()))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(second.getId()));
+        nextActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].articleId").value(first.getId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void listArticlesFailByWrongEmail() throws Exception {
+        // given
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get(BASE_URI + "/nobody@test.com/article"));
+
+        // then
+        resultActions.andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void purgeStatusFailByWrongId() throws Exception {
+        // given
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get(BASE_URI + "/purge/" + "0".repeat(32)));
+
+        // then
+        resultActions.andExpect(status().isNotFound());
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+package com.devgeon.yourlog.controller;
+
+import com.devgeon.yourlog.auth.TokenProvider;
+import com.devgeon.yourlog.domain.dto.UserDeleteRequest;
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.Comment;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class UserDeleteStatementCountTest {
+
+    private final String BASE_URI = "/api/v1/user";
+    private final String EMAIL = "statement-count@test.com", OTHER_EMAIL = "statement-count-other@test.com",
+            USERNAME = "testUsername", PASSWORD = "testPassword", TITLE = "testTitle", CONTENT = "testContent";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @BeforeEach
+    public void mockMvcSetup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 25})
+    public void deleteUsesConstantStatements(int articleCount) throws Exception {
+        // given
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        User other = userRepository.save(User.builder().email(OTHER_EMAIL).username(USERNAME).password(PASSWORD).build());
+        Article otherArticle = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).commentCount(articleCount).user(other).build());
+
+        for (int i = 0; i < articleCount; i++) {
+            Article article = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+            commentRepository.save(Comment.builder().content(CONTENT).article(article).user(user).build());
+            commentRepository.save(Comment.builder().content(CONTENT).article(article).user(other).build());
+            commentRepository.save(Comment.builder().content(CONTENT).article(otherArticle).user(user).build());
+        }
+
+        String token = tokenProvider.issue(user.getId(), EMAIL).getToken();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        ResultActions resultActions = mockMvc.perform(delete(BASE_URI)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new UserDeleteRequest(null, null))));
+
+        // the test transaction never commits, so flush the user row delete explicitly
+        entityManager.flush();
+
+        // then
+        resultActions.andExpect(status().isOk());
+
+        // token check, comment count update, three bulk deletes, then select and delete of the user row
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+        assertThat(userRepository.findById(user.getId())).isEmpty();
+        assertThat(articleRepository.findById(otherArticle.getId()).orElseThrow().getCommentCount()).isZero();
+    }
+
+}
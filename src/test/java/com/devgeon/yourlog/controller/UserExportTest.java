@@ -0,0 +1,152 @@
+package com.devgeon.yourlog.controller;
+
+import com.devgeon.yourlog.auth.TokenProvider;
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.Comment;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not {@code @Transactional}: the export reads on an async thread, which only sees committed rows.
+ */
+@Slf4j
+@SpringBootTest
+class UserExportTest {
+
+    private final String EXPORT_URI = "/api/v1/user/export";
+    private final String EMAIL = "user-export@test.com", USERNAME = "testUsername", PASSWORD = "testPassword";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("exportDataSource")
+    private HikariDataSource exportDataSource;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        commentRepository.bulkDeleteByArticleUserId(user.getId());
+        articleRepository.bulkDeleteByUserId(user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    public void exportSuccess() throws Exception {
+        // given
+        Article first = articleRepository.save(Article.builder().title("title1").content("content1").user(user).build());
+        Article second = articleRepository.save(Article.builder().title("title2").content("content2").user(user).build());
+        Article third = articleRepository.save(Article.builder().title("title3").content("content3").user(user).build());
+        commentRepository.save(Comment.builder().content("comment1").article(first).user(user).build());
+        commentRepository.save(Comment.builder().content("comment2").article(first).user(user).build());
+        commentRepository.save(Comment.builder().content("comment3").article(third).user(user).build());
+        final String token = tokenProvider.issue(user.getId(), user.getEmail()).getToken();
+
+        // when
+        MvcResult started = mockMvc.perform(get(EXPORT_URI)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+                .andReturn();
+
+        // then
+        List<JsonNode> lines = readLines(result.getResponse().getContentAsByteArray());
+
+        assertThat(lines).extracting(line -> line.get("articleId").asLong())
+                .containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(lines).extracting(line -> line.get("title").asText()).containsExactly("title1", "title2", "title3");
+        assertThat(lines.get(0).get("comments")).extracting(comment -> comment.get("content").asText())
+                .containsExactly("comment1", "comment2");
+        assertThat(lines.get(1).get("comments")).isEmpty();
+        assertThat(lines.get(2).get("comments")).extracting(comment -> comment.get("email").asText())
+                .containsExactly(EMAIL);
+
+        // the cursors were read on the export pool, and only it fetches with them
+        assertThat(exportDataSource.getHikariPoolMXBean().getTotalConnections()).isPositive();
+        assertThat(exportDataSource.getDataSourceProperties()).containsEntry("useCursorFetch", "true");
+        assertThat(primaryDataSource.getDataSourceProperties()).doesNotContainKey("useCursorFetch");
+    }
+
+    @Test
+    public void exportFailByMissingToken() throws Exception {
+        // when // then
+        mockMvc.perform(get(EXPORT_URI))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private List<JsonNode> readLines(byte[] gzipped) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(body).endsWith("\n");
+            return body.lines().map(line -> {
+                try {
+                    return objectMapper.readTree(line);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).toList();
+        }
+    }
+
+}
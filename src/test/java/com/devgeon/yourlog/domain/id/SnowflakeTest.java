@@ -0,0 +1,91 @@
+package com.devgeon.yourlog.domain.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+class SnowflakeTest {
+
+    @Test
+    public void idsIncrease() {
+        // given
+        Snowflake snowflake = new Snowflake(1);
+
+        // when
+        long[] ids = LongStream.range(0, 10_000).map(i -> snowflake.nextId()).toArray();
+
+        // then
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void idsEncodeTimeAndNode() {
+        // given
+        final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+        final long NODE_ID = 5;
+
+        Snowflake snowflake = new Snowflake(NODE_ID, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // when
+        long first = snowflake.nextId();
+        long second = snowflake.nextId();
+
+        // then
+        long millis = NOW.toEpochMilli() - Snowflake.EPOCH.toEpochMilli();
+
+        assertThat(first >>> (Snowflake.NODE_BITS + Snowflake.SEQUENCE_BITS)).isEqualTo(millis);
+        assertThat((first >>> Snowflake.SEQUENCE_BITS) & Snowflake.MAX_NODE_ID).isEqualTo(NODE_ID);
+        assertThat(second - first).isEqualTo(1);
+    }
+
+    @Test
+    public void idsUniqueAcrossThreads() throws Exception {
+        // given
+        final int THREADS = 8, IDS_PER_THREAD = 20_000;
+
+        Snowflake snowflake = new Snowflake(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // when
+        List<Future<?>> futures = LongStream.range(0, THREADS)
+                .<Future<?>>mapToObj(i -> executor.submit(() -> {
+                    for (int j = 0; j < IDS_PER_THREAD; j++) {
+                        ids.add(snowflake.nextId());
+                    }
+                }))
+                .toList();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+    }
+
+    @Test
+    public void failByInvalidNodeId() {
+        // given
+
+        // when
+        assertThrows(IllegalArgumentException.class, () -> new Snowflake(Snowflake.MAX_NODE_ID + 1));
+
+        // then
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.devgeon.yourlog.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class RateLimiterTest {
+
+    final String KEY = "127.0.0.1", OTHER_KEY = "127.0.0.2";
+    final int CAPACITY = 3;
+    final Duration REFILL = Duration.ofSeconds(1);
+
+    private final AtomicLong now = new AtomicLong();
+    private final RateLimiter rateLimiter = new RateLimiter(CAPACITY, REFILL, 100, now::get);
+
+    @Test
+    public void burstUpToCapacity() {
+        // given
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(rateLimiter.tryAcquire(KEY)).isZero();
+        }
+
+        // when
+        Duration retryAfter = rateLimiter.tryAcquire(KEY);
+
+        // then
+        assertThat(retryAfter).isEqualTo(REFILL);
+        assertThat(rateLimiter.tryAcquire(OTHER_KEY)).isZero();
+    }
+
+    @Test
+    public void refillOneTokenPerInterval() {
+        // given
+        for (int i = 0; i < CAPACITY; i++) {
+            rateLimiter.tryAcquire(KEY);
+        }
+        now.addAndGet(REFILL.toNanos() / 2);
+        assertThat(rateLimiter.tryAcquire(KEY)).isEqualTo(REFILL.dividedBy(2));
+
+        // when
+        now.addAndGet(REFILL.toNanos() / 2);
+
+        // then
+        assertThat(rateLimiter.tryAcquire(KEY)).isZero();
+        assertThat(rateLimiter.tryAcquire(KEY)).isEqualTo(REFILL);
+    }
+
+    @Test
+    public void idleBucketIsFullAgain() {
+        // given
+        for (int i = 0; i < CAPACITY; i++) {
+            rateLimiter.tryAcquire(KEY);
+        }
+
+        // when
+        now.addAndGet(REFILL.multipliedBy(CAPACITY * 10L).toNanos());
+
+        // then
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(rateLimiter.tryAcquire(KEY)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire(KEY)).isPositive();
+    }
+
+    @Test
+    public void concurrentAcquiresNeverExceedCapacity() throws InterruptedException {
+        // given
+        final int THREADS = 8, ATTEMPTS_PER_THREAD = 1000;
+        RateLimiter limiter = new RateLimiter(100, Duration.ofHours(1), 100, now::get);
+        AtomicInteger acquired = new AtomicInteger();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < ATTEMPTS_PER_THREAD; j++) {
+                    if (limiter.tryAcquire(KEY).isZero()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(acquired.get()).isEqualTo(100);
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.domain.dto.ArticleDeleteRequest;
+import com.devgeon.yourlog.domain.dto.ArticleDto;
+import com.devgeon.yourlog.domain.dto.ArticleEditRequest;
+import com.devgeon.yourlog.domain.dto.ArticleWriteRequest;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.exception.ArticleNotFoundException;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Not {@code @Transactional}: invalidation happens after commit, which a rolled-back test transaction never reaches.
+ */
+@Slf4j
+@SpringBootTest
+class ArticleCacheInvalidationTest {
+
+    final String EMAIL = "article-cache@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
+            TITLE = "testTitle", CONTENT = "testContent";
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private AuthUser authUser;
+
+    @BeforeEach
+    public void setup() {
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        authUser = new AuthUser(user.getId(), EMAIL);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        articleRepository.bulkDeleteByUserId(authUser.getId());
+        userRepository.deleteById(authUser.getId());
+    }
+
+    @Test
+    public void editInvalidatesAfterCommit() {
+        // given
+        final String NEW_TITLE = "testNewTitle";
+
+        ArticleDto written = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, CONTENT));
+        articleService.read(written.getArticleId(), null, 20);
+
+        double misses = misses();
+
+        // when
+        articleService.edit(written.getArticleId(), new ArticleEditRequest(null, null, NEW_TITLE, CONTENT));
+
+        // then
+        assertThat(articleService.read(written.getArticleId(), null, 20).getTitle()).isEqualTo(NEW_TITLE);
+        assertThat(articleService.read(written.getArticleId(), null, 20).getTitle()).isEqualTo(NEW_TITLE);
+        assertThat(misses()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    public void rolledBackEditKeepsEntry() {
+        // given
+        ArticleDto written = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, CONTENT));
+        articleService.read(written.getArticleId(), null, 20);
+
+        double misses = misses();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            articleService.edit(written.getArticleId(), new ArticleEditRequest(null, null, "testRolledBackTitle", CONTENT));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(articleService.read(written.getArticleId(), null, 20).getTitle()).isEqualTo(TITLE);
+        assertThat(misses()).isEqualTo(misses);
+    }
+
+    @Test
+    public void deleteInvalidatesAfterCommit() {
+        // given
+        ArticleDto written = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, CONTENT));
+        articleService.read(written.getArticleId(), null, 20);
+
+        // when
+        articleService.delete(written.getArticleId(), new ArticleDeleteRequest(null, null));
+
+        // then
+        assertThrows(ArticleNotFoundException.class, () -> articleService.read(written.getArticleId(), null, 20));
+    }
+
+    private double misses() {
+        return meterRegistry.get("cache.gets").tag("cache", "article").tag("result", "miss").functionCounter().count();
+    }
+
+}
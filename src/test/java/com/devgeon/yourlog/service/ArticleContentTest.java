@@ -0,0 +1,96 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.domain.dto.ArticleDto;
+import com.devgeon.yourlog.domain.dto.ArticleEditRequest;
+import com.devgeon.yourlog.domain.dto.ArticleWriteRequest;
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+@Transactional
+class ArticleContentTest {
+
+    final String EMAIL = "article-content@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
+            TITLE = "testTitle", LONG_CONTENT = "가나다라마바사".repeat(20_000);
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private AuthUser authUser;
+
+    @BeforeEach
+    public void setup() {
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        authUser = new AuthUser(user.getId(), EMAIL);
+    }
+
+    @Test
+    public void readLongContent() {
+        // given
+        ArticleDto written = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, LONG_CONTENT));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        String content = articleService.read(written.getArticleId(), null, 20).getContent();
+
+        // then
+        assertThat(content).isEqualTo(LONG_CONTENT);
+    }
+
+    @Test
+    public void loadingArticleSkipsContent() {
+        // given
+        ArticleDto written = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, LONG_CONTENT));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Article article = articleRepository.findWithUserById(written.getArticleId()).orElseThrow();
+
+        // then
+        assertThat(Hibernate.isPropertyInitialized(article, "title")).isTrue();
+        assertThat(Hibernate.isPropertyInitialized(article, "content")).isFalse();
+    }
+
+    @Test
+    public void editReplacesContent() {
+        // given
+        ArticleDto written = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, LONG_CONTENT));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        ArticleDto edited = articleService.edit(written.getArticleId(), new ArticleEditRequest(null, null, TITLE, "newContent"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        assertThat(edited.getContent()).isEqualTo("newContent");
+        assertThat(articleRepository.findDtoById(written.getArticleId()).orElseThrow().getContent()).isEqualTo("newContent");
+    }
+
+}
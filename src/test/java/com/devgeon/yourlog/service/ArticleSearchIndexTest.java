@@ -0,0 +1,126 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.domain.dto.ArticleSearchDocument;
+import com.devgeon.yourlog.exception.InvalidCursorException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+class ArticleSearchIndexTest {
+
+    final Long USER_ID = 1L, OTHER_USER_ID = 2L;
+
+    private ArticleSearchIndex articleSearchIndex;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        articleSearchIndex = new ArticleSearchIndex("");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        articleSearchIndex.close();
+    }
+
+    @Test
+    public void searchKorean() {
+        // given
+        index(1L, USER_ID, "여행 기록", "제주도에서 블로그를 시작했습니다");
+        index(2L, USER_ID, "요리", "김치찌개 만드는 법");
+
+        // when
+        ArticleSearchIndex.Hits hits = articleSearchIndex.search("블로그", null, 20);
+
+        // then
+        assertThat(hits.articleIds()).containsExactly(1L);
+        assertThat(hits.nextCursor()).isNull();
+    }
+
+    @Test
+    public void searchRanksTitleMatchFirst() {
+        // given
+        index(1L, USER_ID, "daily notes", "a few words about spring");
+        index(2L, USER_ID, "spring", "a few words about the season");
+
+        // when
+        ArticleSearchIndex.Hits hits = articleSearchIndex.search("Spring", null, 20);
+
+        // then
+        assertThat(hits.articleIds()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void searchPagesWithCursor() {
+        // given
+        for (long id = 1; id <= 5; id++) {
+            index(id, USER_ID, "title", "same content");
+        }
+
+        // when
+        List<Long> ids = new ArrayList<>();
+        ArticleSearchIndex.Hits hits = articleSearchIndex.search("content", null, 2);
+        ids.addAll(hits.articleIds());
+        while (hits.nextCursor() != null) {
+            hits = articleSearchIndex.search("content", hits.nextCursor(), 2);
+            ids.addAll(hits.articleIds());
+        }
+
+        // then
+        assertThat(ids).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    public void searchSkipsDeletedArticles() {
+        // given
+        index(1L, USER_ID, "title", "content");
+        index(2L, USER_ID, "title", "content");
+        index(3L, OTHER_USER_ID, "title", "content");
+
+        // when
+        articleSearchIndex.delete(1L);
+        articleSearchIndex.deleteByUser(OTHER_USER_ID);
+        articleSearchIndex.refresh();
+
+        // then
+        assertThat(articleSearchIndex.search("content", null, 20).articleIds()).containsExactly(2L);
+    }
+
+    @Test
+    public void searchSeesEdit() {
+        // given
+        index(1L, USER_ID, "title", "old content");
+
+        // when
+        index(1L, USER_ID, "title", "new content");
+
+        // then
+        assertThat(articleSearchIndex.search("old", null, 20).articleIds()).isEmpty();
+        assertThat(articleSearchIndex.search("new", null, 20).articleIds()).containsExactly(1L);
+    }
+
+    @Test
+    public void searchFailByInvalidCursor() {
+        // given
+        index(1L, USER_ID, "title", "content");
+
+        // when
+        assertThrows(InvalidCursorException.class, () -> articleSearchIndex.search("content", "invalid", 20));
+
+        // then
+    }
+
+    private void index(Long articleId, Long userId, String title, String content) {
+        articleSearchIndex.index(new ArticleSearchDocument(articleId, userId, title, content));
+        articleSearchIndex.refresh();
+    }
+
+}
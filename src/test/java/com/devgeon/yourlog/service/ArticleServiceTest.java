@@ -1,13 +1,17 @@
 package com.devgeon.yourlog.service;
 
+import com.devgeon.yourlog.auth.AuthUser;
 import com.devgeon.yourlog.domain.dto.*;
 import com.devgeon.yourlog.domain.entity.Article;
 import com.devgeon.yourlog.domain.entity.Comment;
 import com.devgeon.yourlog.domain.entity.User;
-import com.devgeon.yourlog.exception.UserAuthenticationException;
+import com.devgeon.yourlog.domain.event.ArticleChangedEvent;
+import com.devgeon.yourlog.exception.ArticleNotFoundException;
+import com.devgeon.yourlog.exception.UserNotFoundException;
 import com.devgeon.yourlog.repository.ArticleRepository;
 import com.devgeon.yourlog.repository.CommentRepository;
 import com.devgeon.yourlog.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,15 +19,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
-import java.util.Collections;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,9 +41,10 @@ class ArticleServiceTest {
     final Long USER_ID = 1L, ARTICLE_ID = 1L, COMMENT_ID = 1L;
     final String EMAIL = "test@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
             ARTICLE_TITLE = "testTitle", ARTICLE_CONTENT = "testArticleContent", COMMENT_CONTENT = "testCommentContent";
-    final User USER = new User(USER_ID, EMAIL, USERNAME, PASSWORD);
-    final Article ARTICLE = new Article(ARTICLE_ID, ARTICLE_TITLE, ARTICLE_CONTENT, USER);
+    final User USER = new User(USER_ID, EMAIL, USERNAME, PASSWORD, null);
+    final Article ARTICLE = new Article(ARTICLE_ID, ARTICLE_TITLE, ARTICLE_CONTENT, USER, 0L, 0L);
     final Comment COMMENT = new Comment(COMMENT_ID, COMMENT_CONTENT, ARTICLE, USER);
+    final AuthUser AUTH_USER = new AuthUser(USER_ID, EMAIL);
 
     @Mock
     private UserRepository userRepository;
@@ -48,7 +56,16 @@ class ArticleServiceTest {
     private CommentRepository commentRepository;
 
     @Spy
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private ArticleCache articleCache = new ArticleCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Mock
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Mock
+    private ArticleViewCounter articleViewCounter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ArticleService articleService;
@@ -56,13 +73,11 @@ class ArticleServiceTest {
     @Test
     public void writeSuccess() {
         // given
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD));
-
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
-        when(articleRepository.save(any())).thenReturn(new Article(ARTICLE_ID, ARTICLE_TITLE, ARTICLE_CONTENT, USER));
+        when(userRepository.getReferenceById(USER_ID)).thenReturn(USER);
+        when(articleRepository.save(any())).thenReturn(new Article(ARTICLE_ID, ARTICLE_TITLE, ARTICLE_CONTENT, USER, 0L, 0L));
 
         // when
-        ArticleDto articleDto = articleService.write(new ArticleWriteRequest(EMAIL, PASSWORD, ARTICLE_TITLE, ARTICLE_CONTENT));
+        ArticleDto articleDto = articleService.write(AUTH_USER, new ArticleWriteRequest(EMAIL, PASSWORD, ARTICLE_TITLE, ARTICLE_CONTENT));
 
         // then
         assertThat(articleDto.getArticleId()).isNotNull();
@@ -72,139 +87,225 @@ class ArticleServiceTest {
     }
 
     @Test
-    public void writeFailByWrongEmail() {
+    public void editTitleSuccess() {
         // given
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Collections.emptyList());
+        final String TITLE1 = "testTitle1", TITLE2 = "testTitle2";
+
+        Article article = new Article(ARTICLE_ID, TITLE1, ARTICLE_CONTENT, USER, 0L, 0L);
+
+        when(articleRepository.findWithUserById(ARTICLE_ID)).thenReturn(Optional.of(article));
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> articleService.write(new ArticleWriteRequest(EMAIL, PASSWORD, ARTICLE_TITLE, ARTICLE_CONTENT)));
+        articleService.edit(ARTICLE_ID, new ArticleEditRequest(EMAIL, PASSWORD, TITLE2, ARTICLE_CONTENT));
 
         // then
+        assertThat(article.getId()).isEqualTo(ARTICLE_ID);
+        assertThat(article.getTitle()).isEqualTo(TITLE2);
+        assertThat(article.getContent()).isEqualTo(ARTICLE_CONTENT);
+        assertThat(article.getUser()).isEqualTo(USER);
     }
 
     @Test
-    public void writeFailByWrongPassword() {
+    public void editContentSuccess() {
         // given
-        final String PASSWORD1 = "testPassword1", PASSWORD2 = "testPassword2";
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD1));
+        final String CONTENT1 = "testContent1", CONTENT2 = "testContent2";
+
+        Article article = new Article(ARTICLE_ID, ARTICLE_TITLE, CONTENT1, USER, 0L, 0L);
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
+        when(articleRepository.findWithUserById(ARTICLE_ID)).thenReturn(Optional.of(article));
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> articleService.write(new ArticleWriteRequest(EMAIL, PASSWORD2, ARTICLE_TITLE, ARTICLE_CONTENT)));
+        articleService.edit(ARTICLE_ID, new ArticleEditRequest(EMAIL, PASSWORD, ARTICLE_TITLE, CONTENT2));
 
         // then
+        assertThat(article.getId()).isEqualTo(ARTICLE_ID);
+        assertThat(article.getTitle()).isEqualTo(ARTICLE_TITLE);
+        assertThat(article.getContent()).isEqualTo(CONTENT2);
+        assertThat(article.getUser()).isEqualTo(USER);
     }
 
     @Test
-    public void editTitleSuccess() {
+    public void editFailByWrongId() {
         // given
-        final String TITLE1 = "testTitle1", TITLE2 = "testTitle2";
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD));
+        when(articleRepository.findWithUserById(ARTICLE_ID)).thenReturn(Optional.empty());
 
-        Article article = new Article(ARTICLE_ID, TITLE1, ARTICLE_CONTENT, USER);
+        // when
+        assertThrows(ArticleNotFoundException.class, () -> articleService.edit(ARTICLE_ID, new ArticleEditRequest(EMAIL, PASSWORD, ARTICLE_TITLE, ARTICLE_CONTENT)));
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
-        when(articleRepository.findById(ARTICLE_ID)).thenReturn(Optional.of(article));
+        // then
+    }
+
+    @Test
+    public void deleteSuccess() {
+        // given
+        when(articleRepository.existsById(ARTICLE_ID)).thenReturn(true);
 
         // when
-        articleService.edit(ARTICLE_ID, new ArticleEditRequest(EMAIL, PASSWORD, TITLE2, ARTICLE_CONTENT));
+        ArticleDeleteResponse deleteResponse = articleService.delete(ARTICLE_ID, new ArticleDeleteRequest(EMAIL, PASSWORD));
 
         // then
-        assertThat(article.getId()).isEqualTo(ARTICLE_ID);
-        assertThat(article.getTitle()).isEqualTo(TITLE2);
-        assertThat(article.getContent()).isEqualTo(ARTICLE_CONTENT);
-        assertThat(article.getUser()).isEqualTo(USER);
+        verify(articleRepository).deleteById(ARTICLE_ID);
+        verify(commentRepository).bulkDeleteByArticleId(ARTICLE_ID);
+        verify(eventPublisher).publishEvent(any(ArticleChangedEvent.class));
+
+        assertThat(deleteResponse.getEmail()).isEqualTo(EMAIL);
+        assertThat(deleteResponse.getPassword()).isEqualTo(PASSWORD);
     }
 
     @Test
-    public void editContentSuccess() {
+    public void deleteFailByWrongId() {
         // given
-        final String CONTENT1 = "testContent1", CONTENT2 = "testContent2";
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD));
+        when(articleRepository.existsById(ARTICLE_ID)).thenReturn(false);
 
-        Article article = new Article(ARTICLE_ID, ARTICLE_TITLE, CONTENT1, USER);
+        // when
+        assertThrows(ArticleNotFoundException.class, () -> articleService.delete(ARTICLE_ID, new ArticleDeleteRequest(EMAIL, PASSWORD)));
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
-        when(articleRepository.findById(ARTICLE_ID)).thenReturn(Optional.of(article));
+        // then
+    }
+
+    @Test
+    public void listHasNextPage() {
+        // given
+        final int SIZE = 2;
+        final List<ArticleSummaryDto> summaries = List.of(
+                new ArticleSummaryDto(3L, EMAIL, ARTICLE_TITLE, null, 0L),
+                new ArticleSummaryDto(2L, EMAIL, ARTICLE_TITLE, null, 0L),
+                new ArticleSummaryDto(1L, EMAIL, ARTICLE_TITLE, null, 0L));
+
+        when(articleRepository.findSummariesBefore(Long.MAX_VALUE, Limit.of(SIZE + 1))).thenReturn(summaries);
 
         // when
-        articleService.edit(ARTICLE_ID, new ArticleEditRequest(EMAIL, PASSWORD, ARTICLE_TITLE, CONTENT2));
+        CursorPage<ArticleSummaryDto> page = articleService.list(null, SIZE);
 
         // then
-        assertThat(article.getId()).isEqualTo(ARTICLE_ID);
-        assertThat(article.getTitle()).isEqualTo(ARTICLE_TITLE);
-        assertThat(article.getContent()).isEqualTo(CONTENT2);
-        assertThat(article.getUser()).isEqualTo(USER);
+        assertThat(page.getContent()).extracting(ArticleSummaryDto::getArticleId).containsExactly(3L, 2L);
+        assertThat(page.getNextCursor()).isEqualTo(2L);
     }
 
     @Test
-    public void editFailByWrongEmail() {
+    public void listLastPage() {
         // given
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Collections.emptyList());
+        final Long BEFORE = 2L;
+        final List<ArticleSummaryDto> summaries = List.of(new ArticleSummaryDto(1L, EMAIL, ARTICLE_TITLE, null, 0L));
+
+        when(articleRepository.findSummariesBefore(BEFORE, Limit.of(101))).thenReturn(summaries);
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> articleService.edit(ARTICLE_ID, new ArticleEditRequest(EMAIL, PASSWORD, ARTICLE_TITLE, ARTICLE_CONTENT)));
+        CursorPage<ArticleSummaryDto> page = articleService.list(BEFORE, 1000);
 
         // then
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
     }
 
     @Test
-    public void editFailByWrongPassword() {
+    public void listByAuthorHasNextPage() {
         // given
-        final String PASSWORD1 = "testPassword1", PASSWORD2 = "testPassword2";
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD1));
+        final int SIZE = 1;
+        final List<ArticleSummaryDto> summaries = List.of(
+                new ArticleSummaryDto(2L, EMAIL, ARTICLE_TITLE, null, 0L),
+                new ArticleSummaryDto(1L, EMAIL, ARTICLE_TITLE, null, 0L));
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
+        when(articleRepository.findSummariesByUserEmailBefore(EMAIL, Long.MAX_VALUE, Limit.of(SIZE + 1))).thenReturn(summaries);
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> articleService.edit(ARTICLE_ID, new ArticleEditRequest(EMAIL, PASSWORD2, ARTICLE_TITLE, ARTICLE_CONTENT)));
+        CursorPage<ArticleSummaryDto> page = articleService.listByAuthor(EMAIL, null, SIZE);
 
         // then
+        verify(userRepository, times(0)).existsByEmailAndDeletedAtIsNull(any());
+
+        assertThat(page.getContent()).extracting(ArticleSummaryDto::getArticleId).containsExactly(2L);
+        assertThat(page.getNextCursor()).isEqualTo(2L);
     }
 
     @Test
-    public void deleteSuccess() {
+    public void listByAuthorFailByWrongEmail() {
+        // given
+        when(articleRepository.findSummariesByUserEmailBefore(EMAIL, Long.MAX_VALUE, Limit.of(21))).thenReturn(List.of());
+        when(userRepository.existsByEmailAndDeletedAtIsNull(EMAIL)).thenReturn(false);
+
+        // when
+        assertThrows(UserNotFoundException.class, () -> articleService.listByAuthor(EMAIL, null, 20));
+
+        // then
+    }
+
+    @Test
+    public void readSuccess() {
         // given
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD));
+        when(articleRepository.findDtoById(ARTICLE_ID)).thenReturn(Optional.of(new ArticleDto(ARTICLE_ID, EMAIL, ARTICLE_TITLE, ARTICLE_CONTENT, 0L)));
+        when(commentRepository.findDtosByArticleIdAfter(ARTICLE_ID, 0L, Limit.of(21))).thenReturn(List.of(new CommentDto(COMMENT_ID, EMAIL, COMMENT_CONTENT)));
+
+        // when
+        ArticleDetailDto articleDetailDto = articleService.read(ARTICLE_ID, null, 20);
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
-        when(articleRepository.findById(ARTICLE_ID)).thenReturn(Optional.of(ARTICLE));
+        // then
+        verify(articleViewCounter, times(1)).increment(ARTICLE_ID);
+
+        assertThat(articleDetailDto.getEmail()).isEqualTo(EMAIL);
+        assertThat(articleDetailDto.getComments().getContent()).extracting(CommentDto::getCommentId).containsExactly(COMMENT_ID);
+        assertThat(articleDetailDto.getComments().getNextCursor()).isNull();
+    }
+
+    @Test
+    public void readSuccessFromCache() {
+        // given
+        when(articleRepository.findDtoById(ARTICLE_ID)).thenReturn(Optional.of(new ArticleDto(ARTICLE_ID, EMAIL, ARTICLE_TITLE, ARTICLE_CONTENT, 0L)));
+        when(commentRepository.findDtosByArticleIdAfter(ARTICLE_ID, 0L, Limit.of(21))).thenReturn(List.of());
 
         // when
-        ArticleDeleteResponse deleteResponse = articleService.delete(ARTICLE_ID, new ArticleDeleteRequest(EMAIL, PASSWORD));
+        articleService.read(ARTICLE_ID, null, 20);
+        ArticleDetailDto articleDetailDto = articleService.read(ARTICLE_ID, null, 20);
 
         // then
-        verify(articleRepository).deleteById(ARTICLE_ID);
-        verify(commentRepository).deleteByArticle(ARTICLE);
+        verify(articleRepository, times(1)).findDtoById(ARTICLE_ID);
 
-        assertThat(deleteResponse.getEmail()).isEqualTo(EMAIL);
-        assertThat(deleteResponse.getPassword()).isEqualTo(PASSWORD);
+        assertThat(articleDetailDto.getTitle()).isEqualTo(ARTICLE_TITLE);
+    }
+
+    @Test
+    public void readAddsPendingViews() {
+        // given
+        when(articleRepository.findDtoById(ARTICLE_ID)).thenReturn(Optional.of(new ArticleDto(ARTICLE_ID, EMAIL, ARTICLE_TITLE, ARTICLE_CONTENT, 10L)));
+        when(commentRepository.findDtosByArticleIdAfter(ARTICLE_ID, 0L, Limit.of(21))).thenReturn(List.of());
+        when(articleViewCounter.pending(ARTICLE_ID)).thenReturn(3L);
+
+        // when
+        ArticleDetailDto articleDetailDto = articleService.read(ARTICLE_ID, null, 20);
+
+        // then
+        assertThat(articleDetailDto.getViews()).isEqualTo(13L);
     }
 
     @Test
-    public void deleteFailByWrongEmail() {
+    public void readFailByWrongId() {
         // given
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Collections.emptyList());
+        when(articleRepository.findDtoById(ARTICLE_ID)).thenReturn(Optional.empty());
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> articleService.delete(ARTICLE_ID, new ArticleDeleteRequest(EMAIL, PASSWORD)));
+        assertThrows(ArticleNotFoundException.class, () -> articleService.read(ARTICLE_ID, null, 20));
 
         // then
     }
 
     @Test
-    public void deleteFailByWrongPassword() {
+    public void searchKeepsRankingAndDropsDeletedArticles() {
         // given
-        final String PASSWORD1 = "testPassword1", PASSWORD2 = "testPassword2";
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD1));
+        final Long ID1 = 1L, ID2 = 2L, ID3 = 3L;
+        final String NEXT_CURSOR = "1.5:3";
+        final LocalDateTime NOW = LocalDateTime.now();
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
+        when(articleSearchIndex.search("query", null, 20)).thenReturn(new ArticleSearchIndex.Hits(List.of(ID3, ID1, ID2), NEXT_CURSOR));
+        when(articleRepository.findSummariesByIdIn(List.of(ID3, ID1, ID2))).thenReturn(List.of(
+                new ArticleSummaryDto(ID1, EMAIL, "title1", NOW, 0L),
+                new ArticleSummaryDto(ID3, EMAIL, "title3", NOW, 0L)));
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> articleService.delete(ARTICLE_ID, new ArticleDeleteRequest(EMAIL, PASSWORD2)));
+        SearchPage<ArticleSummaryDto> page = articleService.search("query", null, 20);
 
         // then
+        assertThat(page.getContent()).extracting(ArticleSummaryDto::getArticleId).containsExactly(ID3, ID1);
+        assertThat(page.getNextCursor()).isEqualTo(NEXT_CURSOR);
     }
 
 }
@@ -0,0 +1,149 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.domain.dto.ArticleTitleDto;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class ArticleSuggesterTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private ArticleSuggester articleSuggester;
+
+    @BeforeEach
+    public void setup() {
+        articleSuggester = new ArticleSuggester(articleRepository, new SimpleMeterRegistry(), 1000);
+    }
+
+    @Test
+    public void suggestNewestFirst() {
+        // given
+        titles(new ArticleTitleDto(3L, "Spring Boot 3 migration"),
+                new ArticleTitleDto(2L, "Lucene basics"),
+                new ArticleTitleDto(1L, "Spring Data JPA"));
+        articleSuggester.rebuild();
+
+        // when
+        List<ArticleTitleDto> suggestions = articleSuggester.suggest("spring", 10);
+
+        // then
+        assertThat(suggestions).extracting(ArticleTitleDto::getArticleId).containsExactly(3L, 1L);
+        assertThat(suggestions).extracting(ArticleTitleDto::getTitle).containsExactly("Spring Boot 3 migration", "Spring Data JPA");
+    }
+
+    @Test
+    public void suggestKorean() {
+        // given
+        titles(new ArticleTitleDto(2L, "제주도 여행 기록"),
+                new ArticleTitleDto(1L, "제주 맛집"));
+        articleSuggester.rebuild();
+
+        // when
+        List<ArticleTitleDto> suggestions = articleSuggester.suggest("제주도", 10);
+
+        // then
+        assertThat(suggestions).extracting(ArticleTitleDto::getArticleId).containsExactly(2L);
+    }
+
+    @Test
+    public void suggestLimitsSize() {
+        // given
+        titles(new ArticleTitleDto(3L, "note 3"),
+                new ArticleTitleDto(2L, "note 2"),
+                new ArticleTitleDto(1L, "note 1"));
+        articleSuggester.rebuild();
+
+        // when
+        List<ArticleTitleDto> suggestions = articleSuggester.suggest("note", 2);
+
+        // then
+        assertThat(suggestions).extracting(ArticleTitleDto::getArticleId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    public void suggestBeforeFirstBuild() {
+        // when
+        List<ArticleTitleDto> suggestions = articleSuggester.suggest("spring", 10);
+
+        // then
+        assertThat(suggestions).isEmpty();
+    }
+
+    @Test
+    public void suggestBlankPrefix() {
+        // given
+        titles(new ArticleTitleDto(1L, "Spring Data JPA"));
+        articleSuggester.rebuild();
+
+        // when
+        List<ArticleTitleDto> suggestions = articleSuggester.suggest(" ", 10);
+
+        // then
+        assertThat(suggestions).isEmpty();
+    }
+
+    @Test
+    public void suggesterIsSmallerThanTitles() {
+        // given: titles made of common words, like real ones
+        String[] words = {"spring", "boot", "jpa", "lucene", "java", "mysql", "index", "cache", "query", "migration",
+                "guide", "tips", "notes", "with", "and", "for", "performance", "testing", "docker", "redis",
+                "여행", "기록", "제주", "맛집", "일상", "회고", "공부", "정리"};
+        Random random = new Random(42);
+        List<ArticleTitleDto> rows = new ArrayList<>();
+        long titleBytes = 0;
+        for (long id = 20_000; id > 0; id--) {
+            StringBuilder title = new StringBuilder();
+            for (int i = 2 + random.nextInt(4); i > 0; i--) {
+                String word = words[random.nextInt(words.length)];
+                title.append(title.isEmpty() ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : " " + word);
+            }
+            rows.add(new ArticleTitleDto(id, title.toString()));
+            titleBytes += title.toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+        pagedTitles(rows);
+
+        // when
+        articleSuggester.rebuild();
+
+        // then: everything, ids included, in less than the bare title bytes
+        log.info("suggester: {} bytes for {} title bytes", articleSuggester.ramBytesUsed(), titleBytes);
+        assertThat(articleSuggester.ramBytesUsed()).isPositive().isLessThan(titleBytes);
+        assertThat(articleSuggester.suggest(rows.getFirst().getTitle(), 1)).extracting(ArticleTitleDto::getArticleId)
+                .containsExactly(rows.getFirst().getArticleId());
+    }
+
+    // one short page, so the build stops after it
+    private void titles(ArticleTitleDto... titles) {
+        when(articleRepository.findTitlesBefore(anyLong(), any(Limit.class))).thenReturn(List.of(titles));
+    }
+
+    // newest first, answering each keyset page like the repository
+    private void pagedTitles(List<ArticleTitleDto> titles) {
+        when(articleRepository.findTitlesBefore(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long before = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return titles.stream().filter(title -> title.getArticleId() < before).limit(limit.max()).toList();
+        });
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.domain.dto.ArticleDto;
+import com.devgeon.yourlog.domain.dto.ArticleWriteRequest;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not {@code @Transactional}: the flush commits in its own transaction.
+ */
+@Slf4j
+@SpringBootTest(properties = "yourlog.views.flush-interval=PT1H")
+class ArticleViewCounterTest {
+
+    final String EMAIL = "article-views@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
+            TITLE = "testTitle", CONTENT = "testContent";
+    final int THREADS = 8, VIEWS_PER_THREAD = 1000;
+
+    @Autowired
+    private ArticleViewCounter articleViewCounter;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private AuthUser authUser;
+
+    @BeforeEach
+    public void setup() {
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        authUser = new AuthUser(user.getId(), EMAIL);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        articleViewCounter.flush();
+        articleRepository.bulkDeleteByUserId(authUser.getId());
+        userRepository.deleteById(authUser.getId());
+    }
+
+    @Test
+    public void concurrentViewsAreFlushedOnce() throws InterruptedException {
+        // given
+        ArticleDto written = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, CONTENT));
+        Long articleId = written.getArticleId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < VIEWS_PER_THREAD; j++) {
+                    articleViewCounter.increment(articleId);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(articleViewCounter.pending(articleId)).isEqualTo(THREADS * VIEWS_PER_THREAD);
+
+        // when
+        int flushed = articleViewCounter.flush();
+
+        // then
+        assertThat(flushed).isEqualTo(1);
+        assertThat(articleViewCounter.pending(articleId)).isZero();
+        assertThat(articleRepository.findDtoById(articleId).orElseThrow().getViews()).isEqualTo(THREADS * VIEWS_PER_THREAD);
+    }
+
+    @Test
+    public void readCountsPersistedAndPendingViews() {
+        // given
+        ArticleDto written = articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, CONTENT));
+        Long articleId = written.getArticleId();
+
+        articleService.read(articleId, null, 20);
+        articleService.read(articleId, null, 20);
+        articleViewCounter.flush();
+
+        // when
+        long views = articleService.read(articleId, null, 20).getViews();
+
+        // then
+        assertThat(views).isEqualTo(3);
+    }
+
+}
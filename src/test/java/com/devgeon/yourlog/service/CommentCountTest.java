@@ -0,0 +1,85 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.domain.dto.CommentDeleteRequest;
+import com.devgeon.yourlog.domain.dto.CommentDto;
+import com.devgeon.yourlog.domain.dto.CommentWriteRequest;
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+@Transactional
+class CommentCountTest {
+
+    final String EMAIL = "comment-count@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
+            TITLE = "testTitle", CONTENT = "testContent";
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CommentCountReconciler commentCountReconciler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private AuthUser authUser;
+    private Article article;
+
+    @BeforeEach
+    public void setup() {
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        authUser = new AuthUser(user.getId(), EMAIL);
+        article = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+    }
+
+    @Test
+    public void writeAndDeleteKeepCount() {
+        // given
+        CommentDto first = commentService.write(authUser, article.getId(), new CommentWriteRequest(null, null, CONTENT));
+        commentService.write(authUser, article.getId(), new CommentWriteRequest(null, null, CONTENT));
+
+        // when
+        commentService.delete(first.getCommentId(), new CommentDeleteRequest(null, null));
+        commentService.delete(first.getCommentId(), new CommentDeleteRequest(null, null));
+
+        // then
+        assertThat(commentCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void reconcileRepairsDrift() {
+        // given
+        commentService.write(authUser, article.getId(), new CommentWriteRequest(null, null, CONTENT));
+        articleRepository.addCommentCount(article.getId(), 5);
+
+        // when
+        long repaired = commentCountReconciler.reconcile();
+
+        // then
+        assertThat(repaired).isPositive();
+        assertThat(commentCount()).isEqualTo(1);
+    }
+
+    // a projection, so the stale entity in the persistence context is not read back
+    private long commentCount() {
+        return articleRepository.findSummariesByIdIn(List.of(article.getId())).getFirst().getCommentCount();
+    }
+
+}
@@ -1,10 +1,12 @@
 package com.devgeon.yourlog.service;
 
+import com.devgeon.yourlog.auth.AuthUser;
 import com.devgeon.yourlog.domain.dto.*;
 import com.devgeon.yourlog.domain.entity.Article;
 import com.devgeon.yourlog.domain.entity.Comment;
 import com.devgeon.yourlog.domain.entity.User;
-import com.devgeon.yourlog.exception.UserAuthenticationException;
+import com.devgeon.yourlog.exception.ArticleNotFoundException;
+import com.devgeon.yourlog.exception.CommentNotFoundException;
 import com.devgeon.yourlog.repository.ArticleRepository;
 import com.devgeon.yourlog.repository.CommentRepository;
 import com.devgeon.yourlog.repository.UserRepository;
@@ -13,17 +15,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Limit;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,9 +35,10 @@ class CommentServiceTest {
     final Long USER_ID = 1L, ARTICLE_ID = 1L, COMMENT_ID = 1L;
     final String EMAIL = "test@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
             ARTICLE_TITLE = "testTitle", ARTICLE_CONTENT = "testArticleContent", COMMENT_CONTENT = "testCommentContent";
-    final User USER = new User(USER_ID, EMAIL, USERNAME, PASSWORD);
-    final Article ARTICLE = new Article(ARTICLE_ID, ARTICLE_TITLE, ARTICLE_CONTENT, USER);
+    final User USER = new User(USER_ID, EMAIL, USERNAME, PASSWORD, null);
+    final Article ARTICLE = new Article(ARTICLE_ID, ARTICLE_TITLE, ARTICLE_CONTENT, USER, 0L, 0L);
     final Comment COMMENT = new Comment(COMMENT_ID, COMMENT_CONTENT, ARTICLE, USER);
+    final AuthUser AUTH_USER = new AuthUser(USER_ID, EMAIL);
 
     @Mock
     private UserRepository userRepository;
@@ -47,23 +49,19 @@ class CommentServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
-    @Spy
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
-
     @InjectMocks
     private CommentService commentService;
 
     @Test
     public void writeSuccess() {
         // given
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD));
-
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
-        when(articleRepository.findById(ARTICLE_ID)).thenReturn(Optional.of(ARTICLE));
+        when(userRepository.getReferenceById(USER_ID)).thenReturn(USER);
+        when(articleRepository.addCommentCount(ARTICLE_ID, 1)).thenReturn(1);
+        when(articleRepository.getReferenceById(ARTICLE_ID)).thenReturn(ARTICLE);
         when(commentRepository.save(any())).thenReturn(COMMENT);
 
         // when
-        CommentDto commentDto = commentService.write(ARTICLE_ID, new CommentWriteRequest(EMAIL, PASSWORD, COMMENT_CONTENT));
+        CommentDto commentDto = commentService.write(AUTH_USER, ARTICLE_ID, new CommentWriteRequest(EMAIL, PASSWORD, COMMENT_CONTENT));
 
         // then
         assertThat(commentDto.getCommentId()).isNotNull();
@@ -72,26 +70,12 @@ class CommentServiceTest {
     }
 
     @Test
-    public void writeFailByWrongEmail() {
+    public void writeFailByWrongArticleId() {
         // given
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Collections.emptyList());
+        when(articleRepository.addCommentCount(ARTICLE_ID, 1)).thenReturn(0);
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> commentService.write(ARTICLE_ID, new CommentWriteRequest(EMAIL, PASSWORD, COMMENT_CONTENT)));
-
-        // then
-    }
-
-    @Test
-    public void writeFailByWrongPassword() {
-        // given
-        final String PASSWORD1 = "testPassword1", PASSWORD2 = "testPassword2";
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD1));
-
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
-
-        // when
-        assertThrows(UserAuthenticationException.class, () -> commentService.write(ARTICLE_ID, new CommentWriteRequest(EMAIL, PASSWORD2, COMMENT_CONTENT)));
+        assertThrows(ArticleNotFoundException.class, () -> commentService.write(AUTH_USER, ARTICLE_ID, new CommentWriteRequest(EMAIL, PASSWORD, COMMENT_CONTENT)));
 
         // then
     }
@@ -100,12 +84,10 @@ class CommentServiceTest {
     public void editSuccess() {
         // given
         final String COMMENT1_CONTENT = "testComment1Content", COMMENT2_CONTENT = "testComment2Content";
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD));
 
         Comment comment = new Comment(COMMENT_ID, COMMENT1_CONTENT, ARTICLE, USER);
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
-        when(commentRepository.findById(COMMENT_ID)).thenReturn(Optional.of(comment));
+        when(commentRepository.findWithUserById(COMMENT_ID)).thenReturn(Optional.of(comment));
 
         // when
         commentService.edit(COMMENT_ID, new CommentEditRequest(EMAIL, PASSWORD, COMMENT2_CONTENT));
@@ -118,26 +100,12 @@ class CommentServiceTest {
     }
 
     @Test
-    public void editFailByWrongEmail() {
+    public void editFailByWrongId() {
         // given
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Collections.emptyList());
+        when(commentRepository.findWithUserById(COMMENT_ID)).thenReturn(Optional.empty());
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> commentService.edit(COMMENT_ID, new CommentEditRequest(EMAIL, PASSWORD, COMMENT_CONTENT)));
-
-        // then
-    }
-
-    @Test
-    public void editFailByWrongPassword() {
-        // given
-        final String PASSWORD1 = "testPassword1", PASSWORD2 = "testPassword2";
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD1));
-
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
-
-        // when
-        assertThrows(UserAuthenticationException.class, () -> commentService.edit(COMMENT_ID, new CommentEditRequest(EMAIL, PASSWORD2, COMMENT_CONTENT)));
+        assertThrows(CommentNotFoundException.class, () -> commentService.edit(COMMENT_ID, new CommentEditRequest(EMAIL, PASSWORD, COMMENT_CONTENT)));
 
         // then
     }
@@ -145,43 +113,34 @@ class CommentServiceTest {
     @Test
     public void deleteSuccess() {
         // given
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD));
-
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
+        when(commentRepository.findById(COMMENT_ID)).thenReturn(Optional.of(COMMENT));
 
         // when
         CommentDeleteResponse deleteResponse = commentService.delete(COMMENT_ID, new CommentDeleteRequest(EMAIL, PASSWORD));
 
         // then
-        verify(commentRepository).deleteById(COMMENT_ID);
+        verify(commentRepository).delete(COMMENT);
+        verify(articleRepository).addCommentCount(ARTICLE_ID, -1);
 
         assertThat(deleteResponse.getEmail()).isEqualTo(EMAIL);
         assertThat(deleteResponse.getPassword()).isEqualTo(PASSWORD);
     }
 
     @Test
-    public void deleteFailByWrongEmail() {
+    public void listSuccess() {
         // given
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Collections.emptyList());
+        when(commentRepository.findDtosByArticleIdAfter(ARTICLE_ID, 0L, Limit.of(2))).thenReturn(List.of(
+                new CommentDto(1L, EMAIL, COMMENT_CONTENT),
+                new CommentDto(2L, EMAIL, COMMENT_CONTENT)));
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> commentService.delete(COMMENT_ID, new CommentDeleteRequest(EMAIL, PASSWORD)));
+        CursorPage<CommentDto> page = commentService.list(ARTICLE_ID, null, 1);
 
         // then
-    }
+        verify(articleRepository, never()).existsById(any());
 
-    @Test
-    public void deleteFailByWrongPassword() {
-        // given
-        final String PASSWORD1 = "testPassword1", PASSWORD2 = "testPassword2";
-        final User USER = new User(USER_ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD1));
-
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
-
-        // when
-        assertThrows(UserAuthenticationException.class, () -> commentService.delete(COMMENT_ID, new CommentDeleteRequest(EMAIL, PASSWORD2)));
-
-        // then
+        assertThat(page.getContent()).extracting(CommentDto::getCommentId).containsExactly(1L);
+        assertThat(page.getNextCursor()).isEqualTo(1L);
     }
 
-}
\ No newline at end of file
+}
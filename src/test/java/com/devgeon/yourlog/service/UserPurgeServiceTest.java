@@ -0,0 +1,111 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.domain.dto.PurgeJobDto;
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.Comment;
+import com.devgeon.yourlog.domain.entity.PurgeStatus;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
+import com.devgeon.yourlog.repository.PurgeJobRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the database: the chunking is all in the queries. Chunk calls join the test transaction here, so
+ * the persistence context is cleared by hand where separate transactions would not share it.
+ */
+@Slf4j
+@SpringBootTest(properties = "yourlog.purge.chunk-size=2")
+@Transactional
+class UserPurgeServiceTest {
+
+    final String EMAIL = "purge@test.com", OTHER_EMAIL = "purge-other@test.com", USERNAME = "testUsername",
+            PASSWORD = "testPassword", TITLE = "testTitle", CONTENT = "testContent";
+
+    @Autowired
+    private UserPurgeService userPurgeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PurgeJobRepository purgeJobRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void purgeInChunks() {
+        // given
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        User other = userRepository.save(User.builder().email(OTHER_EMAIL).username(USERNAME).password(PASSWORD).build());
+        Article otherArticle = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).commentCount(2).user(other).build());
+        Comment keptComment = commentRepository.save(Comment.builder().content(CONTENT).article(otherArticle).user(other).build());
+        commentRepository.save(Comment.builder().content(CONTENT).article(otherArticle).user(user).build());
+
+        for (int i = 0; i < 3; i++) {
+            Article article = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).user(user).build());
+            commentRepository.save(Comment.builder().content(CONTENT).article(article).user(user).build());
+            commentRepository.save(Comment.builder().content(CONTENT).article(article).user(other).build());
+        }
+
+        PurgeJobDto started = userPurgeService.start(new AuthUser(user.getId(), EMAIL));
+        Long jobId = purgeJobRepository.findByPublicId(started.getJobId()).orElseThrow().getId();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        int chunks = 0;
+        while (userPurgeService.purgeChunk(jobId)) {
+            chunks++;
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        PurgeJobDto finished = userPurgeService.status(started.getJobId());
+
+        // 6 comments on the user's articles, 1 elsewhere, 3 articles, two rows per chunk
+        assertThat(chunks).isEqualTo(6);
+        assertThat(finished.getStatus()).isEqualTo(PurgeStatus.COMPLETED);
+        assertThat(finished.getDeletedComments()).isEqualTo(7);
+        assertThat(finished.getDeletedArticles()).isEqualTo(3);
+        assertThat(finished.getCompletedAt()).isNotNull();
+
+        assertThat(userRepository.findById(user.getId())).isEmpty();
+        assertThat(articleRepository.findById(otherArticle.getId()).orElseThrow().getCommentCount()).isEqualTo(1);
+        assertThat(commentRepository.findById(keptComment.getId())).isPresent();
+        assertThat(userPurgeService.purgeChunk(started.getJobId())).isFalse();
+    }
+
+    @Test
+    public void startHidesUser() {
+        // given
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+
+        // when
+        userPurgeService.start(new AuthUser(user.getId(), EMAIL));
+
+        // then
+        assertThat(userRepository.existsByIdAndDeletedAtIsNull(user.getId())).isFalse();
+        assertThat(userRepository.findById(user.getId())).get().extracting(User::getDeletedAt).isNotNull();
+    }
+
+}
@@ -1,27 +1,37 @@
 package com.devgeon.yourlog.service;
 
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.auth.PasswordHasher;
+import com.devgeon.yourlog.auth.TokenClaims;
+import com.devgeon.yourlog.auth.TokenProvider;
+import com.devgeon.yourlog.auth.UserAuthenticator;
 import com.devgeon.yourlog.domain.dto.UserDeleteRequest;
 import com.devgeon.yourlog.domain.dto.UserDeleteResponse;
 import com.devgeon.yourlog.domain.dto.UserDto;
 import com.devgeon.yourlog.domain.dto.UserJoinRequest;
+import com.devgeon.yourlog.domain.dto.UserLoginRequest;
+import com.devgeon.yourlog.domain.dto.UserLoginResponse;
 import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.domain.event.UserDeletedEvent;
 import com.devgeon.yourlog.exception.UserAuthenticationException;
 import com.devgeon.yourlog.repository.ArticleRepository;
 import com.devgeon.yourlog.repository.CommentRepository;
 import com.devgeon.yourlog.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
-import java.util.Collections;
-import java.util.List;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,7 +40,7 @@ import static org.mockito.Mockito.when;
 class UserServiceTest {
 
     final Long ID = 1L;
-    final String EMAIL = "test@test.com", USERNAME = "testUser", PASSWORD = "testPassword";
+    final String EMAIL = "test@test.com", USERNAME = "testUser", PASSWORD = "testPassword", TOKEN_SECRET = "testTokenSecret";
 
     @Mock
     private UserRepository userRepository;
@@ -44,6 +54,19 @@ class UserServiceTest {
     @Spy
     private BCryptPasswordEncoder bCryptPasswordEncoder;
 
+    @Spy
+    private PasswordHasher passwordHasher =
+            new PasswordHasher(new BCryptPasswordEncoder(), new SimpleMeterRegistry(), 1, 4, Duration.ofSeconds(5));
+
+    @Mock
+    private UserAuthenticator userAuthenticator;
+
+    @Spy
+    private TokenProvider tokenProvider = new TokenProvider(TOKEN_SECRET, Duration.ofHours(1));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -54,7 +77,7 @@ class UserServiceTest {
     public void joinSuccess() {
         // given
         final String encodePassword = bCryptPasswordEncoder.encode(PASSWORD);
-        when(userRepository.save(any())).thenReturn(new User(ID, EMAIL, USERNAME, encodePassword));
+        when(userRepository.save(any())).thenReturn(new User(ID, EMAIL, USERNAME, encodePassword, null));
 
         // when
         UserDto userDto = userService.join(new UserJoinRequest(EMAIL, USERNAME, PASSWORD));
@@ -65,54 +88,60 @@ class UserServiceTest {
     }
 
     @Test
-    public void deleteSuccess() {
+    public void loginSuccess() {
         // given
-        User user = new User(ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD));
-
-        when(userRepository.findByEmail(any())).thenReturn(List.of(user));
+        when(userAuthenticator.authenticate(null, EMAIL, PASSWORD)).thenReturn(new AuthUser(ID, EMAIL));
 
         // when
-        UserDeleteResponse deleteResponse = userService.delete(new UserDeleteRequest(EMAIL, PASSWORD));
+        UserLoginResponse loginResponse = userService.login(new UserLoginRequest(EMAIL, PASSWORD));
 
         // then
-        verify(commentRepository).deleteByUser(user);
-        verify(articleRepository).deleteByUser(user);
-        verify(userRepository).deleteById(ID);
+        TokenClaims claims = tokenProvider.verify(loginResponse.getToken());
 
-        assertThat(deleteResponse.getEmail()).isEqualTo(EMAIL);
-        assertThat(deleteResponse.getPassword()).isEqualTo(PASSWORD);
+        assertThat(loginResponse.getEmail()).isEqualTo(EMAIL);
+        assertThat(loginResponse.getExpiresAt()).isNotNull();
+        assertThat(claims.getUserId()).isEqualTo(ID);
+        assertThat(claims.getEmail()).isEqualTo(EMAIL);
     }
 
     @Test
-    public void deleteFailByWrongEmail() {
+    public void loginFailByWrongPassword() {
         // given
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Collections.emptyList());
+        final String PASSWORD2 = "testPassword2";
+
+        when(userAuthenticator.authenticate(null, EMAIL, PASSWORD2)).thenThrow(new UserAuthenticationException());
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> userService.delete(new UserDeleteRequest(EMAIL, PASSWORD)));
+        assertThrows(UserAuthenticationException.class, () -> userService.login(new UserLoginRequest(EMAIL, PASSWORD2)));
 
         // then
     }
 
     @Test
-    public void deleteFailByWrongPassword() {
+    public void deleteSuccess() {
         // given
-        final String PASSWORD1 = "testPassword1", PASSWORD2 = "testPassword2";
-        final User USER = new User(ID, EMAIL, USERNAME, bCryptPasswordEncoder.encode(PASSWORD1));
-
-        when(userRepository.findByEmail(EMAIL)).thenReturn(List.of(USER));
 
         // when
-        assertThrows(UserAuthenticationException.class, () -> userService.delete(new UserDeleteRequest(EMAIL, PASSWORD2)));
+        UserDeleteResponse deleteResponse = userService.delete(new AuthUser(ID, EMAIL), new UserDeleteRequest(EMAIL, PASSWORD));
 
         // then
+        InOrder inOrder = inOrder(commentRepository, articleRepository, userRepository);
+        inOrder.verify(commentRepository).bulkDeleteByArticleUserId(ID);
+        inOrder.verify(articleRepository).decreaseCommentCountsByCommentUserId(ID);
+        inOrder.verify(commentRepository).bulkDeleteByUserId(ID);
+        inOrder.verify(articleRepository).bulkDeleteByUserId(ID);
+        inOrder.verify(userRepository).deleteById(ID);
+        verify(eventPublisher).publishEvent(any(UserDeletedEvent.class));
+
+        assertThat(deleteResponse.getEmail()).isEqualTo(EMAIL);
+        assertThat(deleteResponse.getPassword()).isEqualTo(PASSWORD);
     }
 
     @Test
     public void verifyPasswordEncrypted() {
         // given
         final String encodePasswordOuter = bCryptPasswordEncoder.encode(PASSWORD);
-        when(userRepository.save(any())).thenReturn(new User(ID, EMAIL, USERNAME, encodePasswordOuter));
+        when(userRepository.save(any())).thenReturn(new User(ID, EMAIL, USERNAME, encodePasswordOuter, null));
 
         // when
         userService.join(new UserJoinRequest(EMAIL, USERNAME, PASSWORD));
@@ -123,4 +152,4 @@ class UserServiceTest {
         assertThat(bCryptPasswordEncoder.matches(PASSWORD, encodePasswordInner)).isTrue();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package com.devgeon.yourlog.service;
+
+import com.devgeon.yourlog.auth.AuthUser;
+import com.devgeon.yourlog.domain.dto.ArticleEditRequest;
+import com.devgeon.yourlog.domain.dto.ArticleWriteRequest;
+import com.devgeon.yourlog.domain.dto.CommentDto;
+import com.devgeon.yourlog.domain.dto.CommentEditRequest;
+import com.devgeon.yourlog.domain.dto.CommentWriteRequest;
+import com.devgeon.yourlog.domain.entity.Article;
+import com.devgeon.yourlog.domain.entity.Comment;
+import com.devgeon.yourlog.domain.entity.User;
+import com.devgeon.yourlog.repository.ArticleRepository;
+import com.devgeon.yourlog.repository.CommentRepository;
+import com.devgeon.yourlog.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The write paths only load what their response needs: a regression of an association back to EAGER, or of a
+ * reference back to a find, shows up as an extra statement or entity load.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class WriteStatementCountTest {
+
+    final String EMAIL = "write-statement-count@test.com", USERNAME = "testUsername", PASSWORD = "testPassword",
+            TITLE = "testTitle", CONTENT = "testContent", NEW_CONTENT = "newContent";
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private AuthUser authUser;
+    private Article article;
+    private Comment comment;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        User user = userRepository.save(User.builder().email(EMAIL).username(USERNAME).password(PASSWORD).build());
+        authUser = new AuthUser(user.getId(), EMAIL);
+        article = articleRepository.save(Article.builder().title(TITLE).content(CONTENT).commentCount(1).user(user).build());
+        comment = commentRepository.save(Comment.builder().content(CONTENT).article(article).user(user).build());
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void articleWriteReferencesUser() {
+        // when
+        articleService.write(authUser, new ArticleWriteRequest(null, null, TITLE, CONTENT));
+        entityManager.flush();
+
+        // then: the insert only
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void articleEditLoadsUserInSameSelect() {
+        // when
+        articleService.edit(article.getId(), new ArticleEditRequest(null, null, TITLE, NEW_CONTENT));
+
+        // then: one select for the article joined to its author
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        Article edited = entityManager.find(Article.class, article.getId());
+        assertThat(Hibernate.isInitialized(edited.getUser())).isTrue();
+    }
+
+    @Test
+    public void commentWriteReferencesArticleAndUser() {
+        // when
+        commentService.write(authUser, article.getId(), new CommentWriteRequest(null, null, CONTENT));
+        entityManager.flush();
+
+        // then: the comment count update and the insert
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void commentEditLeavesArticleUnloaded() {
+        // when
+        CommentDto edited = commentService.edit(comment.getId(), new CommentEditRequest(null, null, NEW_CONTENT));
+
+        // then: one select for the comment joined to its author, none for the article
+        assertThat(edited.getEmail()).isEqualTo(EMAIL);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        Comment loaded = entityManager.find(Comment.class, comment.getId());
+        assertThat(Hibernate.isInitialized(loaded.getUser())).isTrue();
+        assertThat(Hibernate.isInitialized(loaded.getArticle())).isFalse();
+    }
+
+}